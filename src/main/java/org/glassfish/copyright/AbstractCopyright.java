@@ -1,6 +1,6 @@
 /*
  * Copyright (c) 2010, 2019 Oracle and/or its affiliates. All rights reserved.
- * Copyright (c) 2020 Contributors to Eclipse Foundation. All rights reserved.
+ * Copyright (c) 2020, 2026 Contributors to Eclipse Foundation. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -23,42 +23,37 @@
 package org.glassfish.copyright;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
 import java.util.*;
 import java.util.regex.*;
 
 public abstract class AbstractCopyright {
     protected Copyright c;	// our context and configuration
 
-    private String correctCopyright;
-    private String correctBSDCopyright;
-    private static String licensor = "Oracle and/or its affiliates";
-    private Pattern cpat;
-    private Pattern bpat;
-    private List<Pattern> acpatlist = new ArrayList<Pattern>();
     private String lineTerminator ="\n";
-
-    // patterns for good copyright headers
-    private static Pattern apat;
-    private static Pattern anpat;
-    private static Pattern oapat;
-
-    // patterns for bad copyright headers, used only to indicate what's wrong
-    private static Pattern sunpat;
-    private static Pattern sunapat;
-    private static Pattern sunanewpat;
-    private static Pattern sunbpat;
-    private static Pattern obpat;
-    private static Pattern cnocepat;
-    private static Pattern ocpat;
-    private static Pattern oc2pat;
-    private static Pattern ocgpat;
-    private static Pattern ocg2pat;
+    // maximum number of bytes to read looking for the copyright header
+    protected long maxHeaderBytes = 64 * 1024;
+    // check that the comment isn't too long to be a copyright header?
+    protected boolean checkCommentLength = true;
 
     // the general pattern for a single copyright line
     private static final String COPYRIGHT_STRING =
 	"(Portions )?Copyright (\\(c\\) )?([-0-9, ]+) (by )?([A-Za-z].*)";
     private static final String COPYRIGHT_LINE =
 	"^" + COPYRIGHT_STRING + "(\nAll rights reserved.)?$";
+    // replaces the template copyright line
+    static final String COPYRIGHT_LINES =
+	COPYRIGHT_LINE + "(\n" + COPYRIGHT_LINE + ")*";
+    // starts a template without a copyright line
+    static final String OPTIONAL_COPYRIGHT_LINES =
+	"((" + COPYRIGHT_LINE + "\n)+\n)?";
+    // stupid NetBeans template text, ignored at the start of a comment
+    static final String NETBEANS_TEXT =
+	"To change this template, choose Tools | Templates\n" +
+	"and open the template in the editor.\n" +
+	"\n";
+    static final String NETBEANS_PATTERN = "(\\Q" + NETBEANS_TEXT + "\\E)?";
     private static final String COPYRIGHT_LINE_TEMPLATE =
 	"^Copyright (\\(c\\) )?YYYY (by )?([A-Za-z].*)$\n";
 
@@ -69,13 +64,13 @@ public abstract class AbstractCopyright {
 	"permission notice:\n" +
 	"\n";
 
-    private static final String DEFAULT_CORRECT = "epl-copyright.txt";
-    private static final String DEFAULT_ALTERNATE = "apache-copyright.txt";
-    private static final String DEFAULT_BSD = "edl-copyright.txt";
-
-    // find a valid copyright line
+    // find a valid copyright line; CopyrightLine does the same thing
     protected static Pattern ypat = Pattern.compile(COPYRIGHT_STRING);
     protected static final int ypat_YEAR = 3;	// regex group matching year
+    // every match of ypat contains this
+    private static final String COPYRIGHT_WORD = "Copyright ";
+    private static final byte[] COPYRIGHT_BYTES =
+	COPYRIGHT_WORD.getBytes(StandardCharsets.ISO_8859_1);
     protected static Pattern ylpat =
 	Pattern.compile(COPYRIGHT_LINE, Pattern.MULTILINE);
     protected static final int ylpat_YEAR = 3;	// regex group matching year
@@ -102,93 +97,59 @@ public abstract class AbstractCopyright {
 
     protected static final String UNKNOWN_DATE = "UNKNOWN";
 
-    static {
-	try {
-	    // good patterns
-	    apat = getCopyrightPattern("apacheold-copyright.txt");
-	    anpat = getCopyrightPattern("apache-copyright.txt");
-	    oapat = getCopyrightPattern("oracle-apache-copyright.txt");
-
-	    // bad patterns
-	    sunpat = getCopyrightPattern("sun-cddl+gpl+ce-copyright.txt");
-	    sunapat = getCopyrightPattern(
-				    "sun-cddl+gpl+ce+apache-copyright.txt");
-	    sunanewpat = getCopyrightPattern(
-				    "sun-cddl+gpl+ce+apachenew-copyright.txt");
-	    sunbpat = getCopyrightPattern("sun-bsd-copyright.txt");
-	    obpat = getCopyrightPattern("bsd-copyright.txt");
-	    cnocepat = getCopyrightPattern("cddl+gpl-copyright.txt");
-	    ocpat = getCopyrightPattern("cddl-copyright.txt");
-	    oc2pat = getCopyrightPattern("cddl2-copyright.txt");
-	    ocgpat = getCopyrightPattern("cddl+gpl+ce-copyright.txt");
-	    ocg2pat = getCopyrightPattern("cddl+gpl+ce-java.net-copyright.txt");
-	} catch (IOException ex) {
-	    throw new RuntimeException("Copyright resource missing", ex);
-	}
-    }
-
     public AbstractCopyright(Copyright c) {
 	this.c = c;
-	try {
-	    if (c.correctTemplate != null) {
-		correctCopyright = getCopyrightText(c.correctTemplate);
-		cpat = getCopyrightPattern(c.correctTemplate);
-		// if using a specified template and no specified alternate,
-		// don't use the default alternate
-	    } else {
-		correctCopyright = getCopyrightText(DEFAULT_CORRECT);
-		cpat = getCopyrightPattern(DEFAULT_CORRECT);
-		if (c.alternateTemplates.isEmpty()) {
-		    acpatlist.add(getCopyrightPattern(DEFAULT_ALTERNATE));
-		    acpatlist.add(getCopyrightPattern("apache-copyright.txt"));
-		    acpatlist.add(getCopyrightPattern(
-						"apacheold-copyright.txt"));
-		    acpatlist.add(getCopyrightPattern(
-						"mitsallings-copyright.txt"));
-		    acpatlist.add(getCopyrightPattern("w3c-copyright.txt"));
-		}
-	    }
-	    if (!c.alternateTemplates.isEmpty()) {
-		for (File alt : c.alternateTemplates)
-		    acpatlist.add(getCopyrightPattern(alt));
-	    }
-	    if (c.correctBSDTemplate != null) {
-		correctBSDCopyright = getCopyrightText(c.correctBSDTemplate);
-		bpat = getCopyrightPattern(c.correctBSDTemplate);
-	    } else {
-		correctBSDCopyright = getCopyrightText(DEFAULT_BSD);
-		bpat = getCopyrightPattern(DEFAULT_BSD);
-	    }
+    }
 
-	    // extract the licensor from the template
-	    // XXX - shouldn't be stored in a static
-	    try {
-		int yyyy = correctCopyright.indexOf("YYYY");
-		if (yyyy > 0) {
-		    int dot = correctCopyright.indexOf(".", yyyy);
-		    if (dot < 0)
-			dot = correctCopyright.indexOf("\n", yyyy);
-		    if (dot > 0)
-			licensor = correctCopyright.substring(yyyy + 5, dot);
-		}
-	    } catch (StringIndexOutOfBoundsException ex) {
-	    }
-	} catch (IOException ex) {
-	    throw new RuntimeException("Can't load copyright template", ex);
-	}
+    /**
+     * The file name extensions, including the ".", of the files
+     * supported by this class.  Files with these extensions are always
+     * handled by this class, without calling supports.
+     */
+    protected String[] getExtensions() {
+	return new String[0];
+    }
+
+    /**
+     * The names of files that might be supported by this class.
+     * The supports method makes the final decision for these files.
+     */
+    protected String[] getFileNames() {
+	return new String[0];
     }
 
     /**
      * Does this class support this file?
+     * Called for files not identified by their extension.
      * Subclasses will use the file name, and possibly examine the
-     * content of the file, to determine whether it's supported.
+     * start of the content of the file in head, to determine whether
+     * it's supported.
      */
-    protected abstract boolean supports(File file);
+    protected boolean supports(File file, HeadBuffer head) {
+	return false;
+    }
+
+    /**
+     * Should files supported by this class be checked?
+     */
+    protected boolean isEnabled() {
+	return c.doText;
+    }
+
+    /**
+     * Describe the type of file supported by this class,
+     * for debugging output.
+     */
+    protected String getFileType() {
+	return "a text file";
+    }
 
     /**
      * Check a file for the correct copyright notice.
+     * The start of the file has already been read into head.
      */
-    protected void checkCopyright(File file) throws IOException {
+    protected void checkCopyright(File file, HeadBuffer head)
+				throws IOException {
 	String lc = null;
 	if (c.skipNoSVN) {
 	    if (isModified(file.getPath())) {
@@ -204,23 +165,19 @@ public abstract class AbstractCopyright {
 	    }
 	}
 
-	BufferedReader r = null;
-	String comment = null;
-	try {
-	    r = new BufferedReader(
-		new InputStreamReader(new FileInputStream(file), "iso-8859-1"));
-	    comment = readComment(r);
-	    if (c.debug) {
-		System.out.println("Comment for: " + file);
-		System.out.println("---");
-		System.out.println(comment);
-		System.out.println("---");
-	    }
-	    if (c.warn && !c.quiet)
-		warnCopyright(file, r);
-	} finally {
-	    if (r != null)
-		r.close();
+	HeadReader r = head.getReader(
+		c.maxHeaderBytes > 0 ? c.maxHeaderBytes : maxHeaderBytes);
+	String comment = readComment(r);
+	if (c.debug) {
+	    System.out.println("Comment for: " + file);
+	    System.out.println("---");
+	    System.out.println(comment);
+	    System.out.println("---");
+	}
+	if (c.warn && !c.quiet && !c.isLargeFile(head.fileLength())) {
+	    r.setLimit(c.maxWarnBytes > 0 ?
+		r.getCount() + c.maxWarnBytes : Long.MAX_VALUE);
+	    warnCopyright(file, r);
 	}
 
 	if (comment == null) {
@@ -237,49 +194,72 @@ public abstract class AbstractCopyright {
 		repair(file, comment, RepairType.MISSING);
 	    return;
 	}
-	if (!cspat.matcher(comment).find()) {
+	if (!CheckContext.get().matcher(cspat, comment).find()) {
 	    err(file + ": No copyright");
 	    c.nMissing++;
 	    if (c.doRepair)
 		repair(file, comment, RepairType.MISSING);
 	    return;
 	}
-	if (matches(cpat, comment) ||
+	if (isOversized(comment)) {
+	    // don't know where the copyright ends, so can't repair it
+	    err(file + ": Oversized copyright");
+	    c.nOversized++;
+	    return;
+	}
+	// limit the time spent matching this comment
+	CheckContext.get().startDeadline(c.maxMatchTime);
+	TemplateSet ts = c.getTemplates();
+	// with the SPDX identifier of a good template, only the identifier
+	// and the copyright lines need to be checked
+	Pattern spdxpat = c.spdxFast ? ts.spdxTemplate(comment) : null;
+	boolean sampled = spdxpat != null && c.sampleSpdx();
+	Matches tm = spdxpat != null && !sampled ?
+			null : new Matches(ts, comment);
+	if (tm == null) {
+	    if (c.debug)
+		System.out.println("Accepted by SPDX identifier: " + file);
+	} else if (tm.matches(ts.cpat) ||
 		// if normalizing, don't consider any alternates
-		(!c.normalize && matches(acpatlist, comment)) ||
-		matches(bpat, comment) ||
-		matches(apat, comment) ||
-		matches(anpat, comment) ||
-		matches(oapat, comment)) {
+		(!c.normalize && tm.matches(ts.acpatlist)) ||
+		tm.matches(ts.bpat) ||
+		tm.matches(TemplateSet.apat) ||
+		tm.matches(TemplateSet.anpat) ||
+		tm.matches(TemplateSet.oapat)) {
 	    // a good match
 	} else {
-	    if (matches(sunpat, comment)) {
+	    if (sampled && !c.quiet)
+		System.out.println(file + ": SPDX identifier matches " +
+				    "the template, but the text doesn't");
+	    if (tm.matches(TemplateSet.sunpat)) {
 		err(file + ": Sun copyright");
 		c.nSun++;
-	    } else if (matches(sunapat, comment) ||
-		    matches(sunanewpat, comment)) {
+	    } else if (tm.matches(TemplateSet.sunapat) ||
+		    tm.matches(TemplateSet.sunanewpat)) {
 		err(file + ": Sun+Apache copyright");
 		c.nSunApache++;
-	    } else if (matches(sunbpat, comment)) {
+	    } else if (tm.matches(TemplateSet.sunbpat)) {
 		err(file + ": Sun BSD copyright");
 		c.nSunBSD++;
-	    } else if (matches(obpat, comment)) {
+	    } else if (tm.matches(TemplateSet.obpat)) {
 		err(file + ": Old BSD copyright");
 		c.nOldBSD++;
-	    } else if (matches(ocpat, comment) ||
-		    matches(oc2pat, comment)) {
+	    } else if (tm.matches(TemplateSet.ocpat) ||
+		    tm.matches(TemplateSet.oc2pat)) {
 		err(file + ": Old CDDL copyright");
 		c.nOldCDDL++;
-	    } else if (matches(ocgpat, comment) ||
-		    matches(ocg2pat, comment)) {
+	    } else if (tm.matches(TemplateSet.ocgpat) ||
+		    tm.matches(TemplateSet.ocg2pat)) {
 		err(file + ": CDDL+GPL+CE copyright");
 		c.nCDDLGPLCE++;
-	    } else if (matches(cnocepat, comment)) {
+	    } else if (tm.matches(TemplateSet.cnocepat)) {
 		err(file + ": CDDL+GPL-CE copyright");
 		c.nNoCE++;
 	    } else {
 		err(file + ": Wrong copyright");
 		c.nWrong++;
+		if (c.verbose)
+		    printMismatch(file, comment);
 	    }
 	    if (c.doRepair)
 		repair(file, comment, RepairType.WRONG);
@@ -287,11 +267,11 @@ public abstract class AbstractCopyright {
 	}
 
 	// plain Apache header doesn't include a copyright notice
-	if (matches(anpat, comment))
+	if (tm != null && tm.matches(TemplateSet.anpat))
 	    return;
 
-	Matcher m = ypat.matcher(comment);
-	if (!m.find()) {
+	CopyrightLine cl = CheckContext.get().copyrightLine;
+	if (!cl.find(comment)) {
 	    err(file + ": No copyright year");
 	    c.nNoYear++;
 	    return;
@@ -302,7 +282,7 @@ public abstract class AbstractCopyright {
 	    return;
 	}
 
-	String year = m.group(ypat_YEAR);
+	String year = cl.year(comment);
 	int lastYearIndex = year.length() - 4;
 	if (year.endsWith(","))
 	    lastYearIndex--;
@@ -333,24 +313,106 @@ public abstract class AbstractCopyright {
 	    System.out.println("No errors: " + file);
     }
 
+    /**
+     * Print the first line of the comment that differs from the
+     * correct template.
+     */
+    private void printMismatch(File file, String comment) {
+	if (!canUseAutomaton())
+	    return;
+	TemplateSet ts = c.getTemplates();
+	int lineno = ts.automaton.firstMismatch(ts.cpat, comment);
+	if (lineno == 0)
+	    return;
+	String[] lines = comment.split("\n", -1);
+	// the last element is empty if the comment ends with a newline
+	int nlines = comment.endsWith("\n") ? lines.length - 1 : lines.length;
+	String line = lineno <= nlines ? lines[lineno - 1] : "<end of comment>";
+	System.out.println(file + ": differs from the template at " +
+				"comment line " + lineno + ": " + line);
+    }
+
+    /**
+     * Is the comment too long to be a copyright header?
+     * Such comments aren't matched against the templates.
+     * The limit is raised for long templates.
+     */
+    protected boolean isOversized(String comment) {
+	if (!checkCommentLength || c.maxCommentLength <= 0)
+	    return false;
+	long max = Math.max(c.maxCommentLength,
+			    2L * c.getTemplates().maxTemplateLength);
+	return comment.length() > max;
+    }
+
+    /**
+     * Can the automaton match the comment against all the templates
+     * at once?  It matches the same way the matches methods do, so
+     * subclasses that override the matches methods should override
+     * this to return false.
+     */
+    protected boolean canUseAutomaton() {
+	return true;
+    }
+
+    /**
+     * Do the templates only need to match the start of the comment
+     * when using the automaton?
+     */
+    protected boolean matchesPrefix() {
+	return false;
+    }
+
     /**
      * Does the string match the pattern?
      */
     protected boolean matches(Pattern pat, String s) {
-	return pat.matcher(s).matches();
+	return CheckContext.get().matcher(pat, s).matches();
     }
 
     /**
      * Does the string match any of the patterns?
      */
     protected boolean matches(List<Pattern> patlist, String s) {
+	CheckContext cc = CheckContext.get();
 	for (Pattern pat : patlist) {
-	    if (pat.matcher(s).matches())
+	    if (cc.matcher(pat, s).matches())
 		return true;
 	}
 	return false;
     }
 
+    /**
+     * The templates that match a comment.  All the templates are
+     * matched at once by the automaton, or one at a time by calling
+     * matches if a subclass overrides it.
+     */
+    private class Matches {
+	private final String comment;
+	private final TemplateAutomaton.Result result;
+
+	Matches(TemplateSet ts, String comment) {
+	    this.comment = comment;
+	    result = canUseAutomaton() ? ts.automaton.match(comment) : null;
+	}
+
+	boolean matches(Pattern pat) {
+	    if (result == null)
+		return AbstractCopyright.this.matches(pat, comment);
+	    return result.matches(pat, matchesPrefix());
+	}
+
+	boolean matches(List<Pattern> patlist) {
+	    if (result == null)
+		return AbstractCopyright.this.matches(patlist, comment);
+	    for (Pattern pat : patlist) {
+		if (result.matches(pat, false))
+		    return true;
+	    }
+	    return false;
+	}
+    }
+
     enum RepairType { MISSING, WRONG, DATE };
 
     /**
@@ -367,17 +429,61 @@ public abstract class AbstractCopyright {
      *
      *	Wrong date
      *		Update existing date in existing copyright.
+     *
+     * The repaired file is written to a temporary file in the same
+     * directory, which is then renamed over the original, so the
+     * original is never left partly written.  If not updating,
+     * the repaired file is left in file.new.
      */
     protected void repair(File file, String comment, RepairType type)
 				throws IOException {
-	File newfile = new File(file.getParent(), file.getName() + ".new");
+	if (c.dontUpdate) {
+	    File newfile = new File(file.getParent(), file.getName() + ".new");
+	    writeRepaired(file, newfile, comment, type, false);
+	    return;
+	}
+
+	// replace the file a symbolic link points to, not the link
+	Path orig = file.toPath();
+	if (Files.isSymbolicLink(orig))
+	    orig = orig.toRealPath();
+	orig = orig.toAbsolutePath();
+	File tmp = File.createTempFile("." + orig.getFileName() + ".", ".tmp",
+					orig.getParent().toFile());
+	boolean done = false;
+	try {
+	    writeRepaired(file, tmp, comment, type, true);
+	    copyPermissions(orig, tmp.toPath());
+	    try {
+		Files.move(tmp.toPath(), orig, StandardCopyOption.ATOMIC_MOVE,
+				    StandardCopyOption.REPLACE_EXISTING);
+	    } catch (AtomicMoveNotSupportedException ex) {
+		Files.move(tmp.toPath(), orig,
+				    StandardCopyOption.REPLACE_EXISTING);
+	    }
+	    done = true;
+	} finally {
+	    if (!done)
+		tmp.delete();
+	}
+    }
+
+    /**
+     * Write the repaired file to newfile.  If canonical is true,
+     * canonicalize all the line separators.
+     */
+    private void writeRepaired(File file, File newfile, String comment,
+		RepairType type, boolean canonical) throws IOException {
 	BufferedReader in = null;
 	BufferedWriter out = null;
 	try {
 	    in = new BufferedReader(new InputStreamReader(
 				new FileInputStream(file), "iso-8859-1"));
-	    out = new BufferedWriter(new OutputStreamWriter(
-				new FileOutputStream(newfile), "iso-8859-1"));
+	    Writer w = new OutputStreamWriter(
+				new FileOutputStream(newfile), "iso-8859-1");
+	    if (canonical)
+		w = new LineTerminatorWriter(w);
+	    out = new BufferedWriter(w);
 	    lineTerminator = guessLineTerminator(in);
 	    switch (type) {
 	    case MISSING:
@@ -405,25 +511,63 @@ public abstract class AbstractCopyright {
 		break;
 	    }
 	    copy(in, out, true);
-
-	    if (!c.dontUpdate) {
-		in.close();
-		out.close();
-
-		// now copy the updated file back to the original
-		in = new BufferedReader(new InputStreamReader(
-				new FileInputStream(newfile), "iso-8859-1"));
-		out = new BufferedWriter(new OutputStreamWriter(
-				new FileOutputStream(file), "iso-8859-1"));
-		copy(in, out, false);
-	    }
 	} finally {
 	    if (in != null)
 		in.close();
 	    if (out != null)
 		out.close();
-	    if (!c.dontUpdate)
-		newfile.delete();
+	}
+    }
+
+    /**
+     * Replace each line separator - "\r", "\n", or "\r\n" - with
+     * lineTerminator, the same as copying the file a line at a time.
+     */
+    private final class LineTerminatorWriter extends FilterWriter {
+	private boolean cr;	// last character was '\r'
+
+	LineTerminatorWriter(Writer out) {
+	    super(out);
+	}
+
+	@Override
+	public void write(int c) throws IOException {
+	    write(new char[] { (char)c }, 0, 1);
+	}
+
+	@Override
+	public void write(String str, int off, int len) throws IOException {
+	    write(str.toCharArray(), off, len);
+	}
+
+	@Override
+	public void write(char[] cbuf, int off, int len) throws IOException {
+	    int start = off;
+	    int end = off + len;
+	    for (int i = off; i < end; i++) {
+		char c = cbuf[i];
+		if (c == '\r' || c == '\n') {
+		    out.write(cbuf, start, i - start);
+		    if (c == '\r' || !cr)	// not the '\n' of "\r\n"
+			out.write(lineTerminator);
+		    start = i + 1;
+		}
+		cr = c == '\r';
+	    }
+	    out.write(cbuf, start, end - start);
+	}
+    }
+
+    /**
+     * Give the repaired file the same permissions as the original.
+     */
+    private static void copyPermissions(Path from, Path to)
+				throws IOException {
+	try {
+	    Files.setPosixFilePermissions(to,
+		Files.getPosixFilePermissions(from));
+	} catch (UnsupportedOperationException ex) {
+	    // not a POSIX file system, nothing to copy
 	}
     }
 
@@ -434,13 +578,14 @@ public abstract class AbstractCopyright {
      */
     protected void writeCopyright(BufferedWriter out, String year,
 				String comment) throws IOException {
-	String copyright = correctCopyright;
+	TemplateSet ts = c.getTemplates();
+	String copyright = ts.correctCopyright;
 	boolean preserve = c.preserveCopyrights;
 	if (comment != null) {
 	    if (bsdpat.matcher(comment).find()) {
 		if (c.debug)
 		    System.out.println("BSD license");
-		copyright = correctBSDCopyright;
+		copyright = ts.correctBSDCopyright;
 	    } else if (comment.contains("Apache")) {
 		if (c.debug)
 		    System.out.println("Apache license");
@@ -456,20 +601,20 @@ public abstract class AbstractCopyright {
 		    System.out.printf("Apache copyright:%n---%n%s---%n",
 					copyright);
 		// need to convert actual copyright to template
-		Matcher y = ypat.matcher(copyright);
-		if (y.find()) {
-		    copyright = copyright.substring(0, y.start(ypat_YEAR)) +
-			"YYYY" + copyright.substring(y.end(ypat_YEAR));
+		CopyrightLine y = CheckContext.get().copyrightLine;
+		if (y.find(copyright)) {
+		    copyright = copyright.substring(0, y.yearStart) +
+			"YYYY" + copyright.substring(y.yearEnd);
 		}
 		preserve = true;
 	    }
 	    if (preserve)
 		copyright = fixCopyright(copyright, getCopyrights(comment),
-					    year, licensor);
+					    year, ts.licensor);
 	    else
-		copyright = fixCopyright(copyright, year, licensor);
+		copyright = fixCopyright(copyright, year, ts.licensor);
 	} else {
-	    copyright = fixCopyright(copyright, year, licensor);
+	    copyright = fixCopyright(copyright, year, ts.licensor);
 	}
 	out.write(toComment(copyright));
     }
@@ -504,11 +649,11 @@ public abstract class AbstractCopyright {
      */
     protected void warnCopyright(File file, BufferedReader in)
 				throws IOException {
+	CopyrightLine cl = CheckContext.get().copyrightLine;
 	String line;
-	while ((line = in.readLine()) != null) {
-	    Matcher m = ypat.matcher(line);
-	    if (m.find()) {
-		if (line.indexOf(licensor) < 0)
+	while ((line = readCopyrightLine(in)) != null) {
+	    if (cl.find(line)) {
+		if (line.indexOf(c.getTemplates().licensor) < 0)
 		    System.out.println(file +
 				    ": WARNING: extra copyright: " + line);
 	    }
@@ -521,6 +666,23 @@ public abstract class AbstractCopyright {
 	}
     }
 
+    /**
+     * Return the next line that might contain a copyright, or null
+     * at EOF.  Lines without the word "Copyright" can't match ypat,
+     * so they're skipped without running the regex.
+     */
+    private static String readCopyrightLine(BufferedReader in)
+				throws IOException {
+	if (in instanceof HeadReader)
+	    return ((HeadReader)in).readLineContaining(COPYRIGHT_BYTES);
+	String line;
+	while ((line = in.readLine()) != null) {
+	    if (line.indexOf(COPYRIGHT_WORD) >= 0)
+		break;
+	}
+	return line;
+    }
+
     /**
      * Guess the line terminator to be used based on the first line
      * terminator seen in the file.
@@ -606,10 +768,12 @@ public abstract class AbstractCopyright {
      */
     protected List<String> getCopyrights(String s) {
 	List<String> ret = new ArrayList<String>();
-	Matcher m = ylpat.matcher(s);
-	while (m.find()) {
-	    String cline = m.group();
+	CopyrightLine cl = CheckContext.get().copyrightLine;
+	int pos = 0;
+	while (cl.findLine(s, pos)) {
+	    String cline = s.substring(cl.start, cl.end);
 	    ret.add(cline);
+	    pos = cl.end;
 	}
 	return ret;
     }
@@ -657,11 +821,11 @@ public abstract class AbstractCopyright {
 	    if (!found && s.indexOf(lic) >= 0) {
 		// found the copyright for the licensor, fix the date
 		found = true;
-		Matcher m2 = ylpat.matcher(s);
-		if (m2.find()) {	// XXX - should always be true
-		    sb.append(s.substring(0, m2.start(ylpat_YEAR)));
+		CopyrightLine cl = CheckContext.get().copyrightLine;
+		if (cl.findLine(s, 0)) {	// XXX - should always be true
+		    sb.append(s.substring(0, cl.yearStart));
 		    sb.append(date);
-		    sb.append(s.substring(m2.end(ylpat_YEAR)));
+		    sb.append(s.substring(cl.yearEnd));
 		    sb.append('\n');
 		} else {
 		    sb.append(s).append('\n');
@@ -713,143 +877,71 @@ public abstract class AbstractCopyright {
     }
 
     /**
-     * Does the file start with the specified prefix?
+     * Like startsWith(String, String), for a CharSequence.
      */
-    protected static boolean startsWith(File file, String prefix) {
-	BufferedReader r = null;
-	try {
-	    r = new BufferedReader(new FileReader(file));
-	    int len = prefix.length();
-	    for (int i = 0; i < len; i++) {
-		int c;
-		while ((c = r.read()) == '\r')
-		    ;	// skip CR
-		if (c != prefix.charAt(i))
-		    return false;
-	    }
-	    /*
-	    if (c.debug)
-		System.out.println("File " + file + " starts with " + prefix);
-	    */
-	    return true;
-	} catch (IOException ex) {
+    protected static boolean startsWith(CharSequence s, String prefix) {
+	// the part of s that trim would return
+	int start = 0;
+	int end = s.length();
+	while (start < end && s.charAt(start) <= ' ')
+	    start++;
+	while (end > start && s.charAt(end - 1) <= ' ')
+	    end--;
+	if (end - start < prefix.length())
 	    return false;
-	} finally {
-	    if (r != null)
-		try {
-		    r.close();
-		} catch (IOException ioex) { }
+	for (int i = 0; i < prefix.length(); i++) {
+	    char c1 = s.charAt(start + i);
+	    char c2 = prefix.charAt(i);
+	    if (c1 == c2)
+		continue;
+	    char u1 = Character.toUpperCase(c1);
+	    char u2 = Character.toUpperCase(c2);
+	    if (u1 != u2 &&
+		    Character.toLowerCase(u1) != Character.toLowerCase(u2))
+		return false;
 	}
+	return true;
     }
 
     /**
-     * Read a copyright regular expression from the named resource.
-     * Assume the pattern is formatted as a Java comment, but canonicalize
-     * the pattern to ignore language-specific comment characters.
-     */
-    private static Pattern getCopyrightPattern(String name) throws IOException {
-	return copyrightToPattern(readCopyright(name, true));
-    }
-
-    /**
-     * Read a copyright regular expression from the file.
+     * Like String.startsWith, for a CharSequence.
      */
-    private static Pattern getCopyrightPattern(File file) throws IOException {
-	return copyrightToPattern(readCopyright(file, true));
-    }
-
-    private static Pattern copyrightToPattern(String comment) {
-	StringBuilder copyright = new StringBuilder();
-	// ignore stupid NetBeans template text
-	copyright.append(
-	    "(\\QTo change this template, choose Tools | Templates\n" +
-	    "and open the template in the editor.\n" +
-	    "\n\\E)?");
-	copyright.append(comment);
-	return Pattern.compile(copyright.toString(), Pattern.MULTILINE);
-    }
-
-    private static String readCopyright(String name, boolean pattern)
-				throws IOException {
-	BufferedReader r = null;
-	try {
-	    InputStream is = Copyright.class.getResourceAsStream(
-				"/META-INF/copyright-templates/" + name);
-	    if (is == null)
-		is = Copyright.class.getResourceAsStream(name);
-	    r = new BufferedReader(new InputStreamReader(is));
-	    return readCopyrightStream(r, pattern);
-	} finally {
-	    if (r != null)
-		r.close();
-	}
-    }
-
-    private static String readCopyright(File file, boolean pattern)
-				throws IOException {
-	BufferedReader r = null;
-	try {
-	    r = new BufferedReader(new FileReader(file));
-	    return readCopyrightStream(r, pattern);
-	} finally {
-	    if (r != null)
-		r.close();
+    protected static boolean lineStartsWith(CharSequence s, CharSequence prefix) {
+	if (s.length() < prefix.length())
+	    return false;
+	for (int i = 0; i < prefix.length(); i++) {
+	    if (s.charAt(i) != prefix.charAt(i))
+		return false;
 	}
+	return true;
     }
 
     /**
-     * Read a copyright from the BufferedReader.
-     * If pattern is true, convert it to a regular expression pattern.
+     * Like String.indexOf, for a CharSequence.
      */
-    private static String readCopyrightStream(BufferedReader r, boolean pattern)
-				throws IOException {
-	StringBuilder copyright = new StringBuilder();
-	String line = r.readLine();	// read the "/*" line
-	boolean sawCopyright = false;
-	while ((line = r.readLine()) != null) {
-	    if (line.equals(" */"))	// ending comment line
-		break;
-	    if (line.length() > 2)
-		line = line.substring(3);	// strip " * "
-	    else
-		line = "";			// empty line
-	    if (pattern) {
-		line = Pattern.quote(line);
-		if (line.indexOf("YYYY") >= 0) {
-		    sawCopyright = true;
-		    // replace the template copyright line with a pattern
-		    // that allows multiple copyright lines from anyone
-		    line = COPYRIGHT_LINE + "(\n" + COPYRIGHT_LINE + ")*";
-		}
-	    }
-	    copyright.append(line).append('\n');
+    protected static int indexOf(CharSequence s, String str) {
+	int max = s.length() - str.length();
+	for (int i = 0; i <= max; i++) {
+	    int k = 0;
+	    while (k < str.length() && s.charAt(i + k) == str.charAt(k))
+		k++;
+	    if (k == str.length())
+		return i;
 	}
-	// if no copyright line in the template, allow a copyright
-	// at the beginning
-	if (!sawCopyright && pattern)
-	    copyright.insert(0, "((" + COPYRIGHT_LINE + "\n)+\n)?");
-
-	// strip off one optional trailing blank line, for consistency
-	// with CommonCopyright.readComment.
-	int len = copyright.length();
-	if (len >= 2 && copyright.charAt(len - 1) == '\n' &&
-		copyright.charAt(len - 2) == '\n')
-	    copyright.setLength(len - 1);
-	return copyright.toString();
-    }
-
-    /**
-     * Read the copyright text from the named resource.
-     */
-    private static String getCopyrightText(String name) throws IOException {
-	return readCopyright(name, false);
+	return -1;
     }
 
     /**
-     * Read the copyright text from the file.
+     * Like findPrefix, but return the length of the prefix.
      */
-    private static String getCopyrightText(File file) throws IOException {
-	return readCopyright(file, false);
+    protected static int prefixLength(CharSequence line) {
+	for (int i = 0; i < line.length(); i++) {
+	    char c = line.charAt(i);
+	    if (Character.isLetterOrDigit(c) || c == '\"' || c == '[' ||
+		    c == '(' || c == '%')	// end of prefix
+		return i;
+	}
+	return 0;
     }
 
     /**
@@ -1,6 +1,6 @@
 /*
  * Copyright (c) 2011, 2019 Oracle and/or its affiliates. All rights reserved.
- * Copyright (c) 2020, 2024 Contributors to Eclipse Foundation. All rights reserved.
+ * Copyright (c) 2020, 2026 Contributors to Eclipse Foundation. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -131,6 +131,72 @@ public abstract class AbstractCopyrightMojo extends AbstractMojo {
     @Parameter(property = "copyright.hidden")
     protected boolean doHidden;
 
+    /**
+     * Follow symbolic links?
+     */
+    @Parameter(property = "copyright.followlinks")
+    protected boolean followLinks;
+
+    /**
+     * Process the files in each directory in inode order?
+     * Faster on spinning disks and some network file systems.
+     */
+    @Parameter(property = "copyright.inodeorder")
+    protected boolean inodeOrder;
+
+    /**
+     * Only check the header of files larger than this many bytes.
+     */
+    @Parameter(property = "copyright.maxfilesize")
+    protected long maxFileSize;
+
+    /**
+     * Skip files larger than maxFileSize completely?
+     */
+    @Parameter(property = "copyright.skiplargefiles")
+    protected boolean skipLargeFiles;
+
+    /**
+     * Read at most this many bytes looking for the copyright header.
+     */
+    @Parameter(property = "copyright.maxheaderbytes")
+    protected long maxHeaderBytes;
+
+    /**
+     * Read at most this many bytes after the header looking for
+     * other copyrights.
+     */
+    @Parameter(property = "copyright.maxwarnbytes")
+    protected long maxWarnBytes;
+
+    /**
+     * Comments longer than this are reported as oversized,
+     * without checking them against the templates.  Zero means no limit.
+     */
+    @Parameter(property = "copyright.maxcommentlength", defaultValue = "8192")
+    protected long maxCommentLength;
+
+    /**
+     * Give up matching a file's copyright after this many milliseconds,
+     * reporting it as timed out.  Zero means no limit.
+     */
+    @Parameter(property = "copyright.maxmatchtime", defaultValue = "10000")
+    protected long maxMatchTime;
+
+    /**
+     * Accept a header with the SPDX-License-Identifier of a good
+     * template, checking only the identifier and the copyright lines.
+     */
+    @Parameter(property = "copyright.spdxfastpath")
+    protected boolean spdxFastPath;
+
+    /**
+     * With spdxFastPath, fully check every nth header accepted by its
+     * SPDX identifier anyway.  Set to 1 to check them all.
+     */
+    @Parameter(property = "copyright.spdxsample")
+    protected int spdxSample;
+
     /**
      * Copyright template file.
      */
@@ -210,6 +276,16 @@ public abstract class AbstractCopyrightMojo extends AbstractMojo {
 	c.preserveCopyrights = preserveCopyrights;
 	c.skipNoSVN = scmOnly;
 	c.doHidden = doHidden;
+	c.followLinks = followLinks;
+	c.inodeOrder = inodeOrder;
+	c.maxFileSize = maxFileSize;
+	c.skipLargeFiles = skipLargeFiles;
+	c.maxHeaderBytes = maxHeaderBytes;
+	c.maxWarnBytes = maxWarnBytes;
+	c.maxCommentLength = maxCommentLength;
+	c.maxMatchTime = maxMatchTime;
+	c.spdxFast = spdxFastPath;
+	c.spdxSample = spdxSample;
 
 	if (templateFile != null)
 	    c.correctTemplate = 
@@ -1,5 +1,6 @@
 /*
  * Copyright (c) 2010, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -45,18 +46,22 @@ public class AsciidocCopyright extends CommonCopyright {
     }
 
     /**
-     * Is this an asciidoc file?
+     * The extension of asciidoc files.
      */
-    protected boolean supports(File file) {
-	return file.getName().endsWith(".adoc");
+    protected String[] getExtensions() {
+	return new String[] { ".adoc" };
+    }
+
+    protected String getFileType() {
+	return "an asciidoc file";
     }
 
     /**
      * Is this the start of a comment?
      */
-    protected boolean isCommentStart(String line) {
-	if (line != null && line.matches(commentRegex)) {
-	    firstComment = line;
+    protected boolean isCommentStart(CharSequence line) {
+	if (line != null && pat.matcher(line).matches()) {
+	    firstComment = line.toString();
 	    return true;
 	} else
 	    return false;
@@ -65,8 +70,8 @@ public class AsciidocCopyright extends CommonCopyright {
     /**
      * Is this the end of a comment?
      */
-    protected boolean isCommentEnd(String line) {
-	return line.equals(firstComment);
+    protected boolean isCommentEnd(CharSequence line) {
+	return firstComment != null && firstComment.contentEquals(line);
     }
 
     /**
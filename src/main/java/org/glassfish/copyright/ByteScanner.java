@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+/**
+ * Fast searches for bytes in a buffer, used to find line terminators
+ * and candidate copyright lines without looking at each byte.
+ * Eight bytes are tested at once, using the bit tricks described in
+ * "Hacker's Delight" to find a zero byte in a long.
+ */
+
+package org.glassfish.copyright;
+
+import java.nio.ByteBuffer;
+
+final class ByteScanner {
+    private static final long LOW7 = 0x7f7f7f7f7f7f7f7fL;
+    private static final long ONES = 0x0101010101010101L;
+    private static final long NL = '\n' * ONES;
+    private static final long CR = '\r' * ONES;
+
+    private ByteScanner() {
+    }
+
+    /**
+     * Return a long with the high bit set in each byte of x that's zero,
+     * and no other bits set.
+     */
+    private static long zeros(long x) {
+	long t = (x & LOW7) + LOW7;
+	return ~(t | x | LOW7);
+    }
+
+    /**
+     * Return the index of the byte in a word returned by zeros.
+     * The buffer is big-endian so the first byte is the high byte.
+     */
+    private static int first(long z) {
+	return Long.numberOfLeadingZeros(z) >>> 3;
+    }
+
+    /**
+     * Return the index of the first byte v in the array backing bb,
+     * between from and to, or -1.
+     */
+    static int indexOf(ByteBuffer bb, int from, int to, byte v) {
+	long pat = (v & 0xffL) * ONES;
+	int i = from;
+	for (; i + 8 <= to; i += 8) {
+	    long z = zeros(bb.getLong(i) ^ pat);
+	    if (z != 0)
+		return i + first(z);
+	}
+	byte[] b = bb.array();
+	for (; i < to; i++) {
+	    if (b[i] == v)
+		return i;
+	}
+	return -1;
+    }
+
+    /**
+     * Return the index of the first newline or carriage return in
+     * the array backing bb, between from and to, or to if none.
+     */
+    static int indexOfEOL(ByteBuffer bb, int from, int to) {
+	int i = from;
+	for (; i + 8 <= to; i += 8) {
+	    long x = bb.getLong(i);
+	    long z = zeros(x ^ NL) | zeros(x ^ CR);
+	    if (z != 0)
+		return i + first(z);
+	}
+	byte[] b = bb.array();
+	for (; i < to; i++) {
+	    if (b[i] == '\n' || b[i] == '\r')
+		return i;
+	}
+	return to;
+    }
+
+    /**
+     * Return the index of the last newline or carriage return in b,
+     * between from and to, or -1.  Lines are short, so this just
+     * looks at each byte.
+     */
+    static int lastIndexOfEOL(byte[] b, int from, int to) {
+	for (int i = to - 1; i >= from; i--) {
+	    if (b[i] == '\n' || b[i] == '\r')
+		return i;
+	}
+	return -1;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+/**
+ * The buffers and matchers used to check a file, reused for each file
+ * checked by a thread so that checking a file allocates very little.
+ */
+
+package org.glassfish.copyright;
+
+import java.util.*;
+import java.util.regex.*;
+
+final class CheckContext {
+    private static final ThreadLocal<CheckContext> contexts =
+	new ThreadLocal<CheckContext>() {
+	    @Override
+	    protected CheckContext initialValue() {
+		return new CheckContext();
+	    }
+	};
+
+    // the start of the file being checked
+    final HeadBuffer head = new HeadBuffer();
+    // the text of the comment being read
+    final StringBuilder comment = new StringBuilder();
+    // the prefix of the lines of the comment being read
+    final StringBuilder prefix = new StringBuilder();
+    // parses copyright lines
+    final CopyrightLine copyrightLine = new CopyrightLine();
+
+    private final Map<Pattern, Matcher> matchers =
+	new IdentityHashMap<Pattern, Matcher>();
+    // the text for each matcher, when there's a deadline
+    private final Map<Pattern, DeadlineCharSequence> texts =
+	new IdentityHashMap<Pattern, DeadlineCharSequence>();
+    private boolean hasDeadline;
+    private long deadline;	// System.nanoTime value
+
+    private CheckContext() {
+    }
+
+    /**
+     * The context for the current thread.
+     */
+    static CheckContext get() {
+	return contexts.get();
+    }
+
+    /**
+     * Limit the time matchers can take, until clearDeadline is called.
+     * Once the time is up, matchers throw MatchTimeoutException.
+     * Zero means no limit.
+     */
+    void startDeadline(long millis) {
+	hasDeadline = millis > 0;
+	deadline = System.nanoTime() + millis * 1000000;
+    }
+
+    void clearDeadline() {
+	hasDeadline = false;
+    }
+
+    /**
+     * Return a matcher for the pattern, reset to match s.
+     * The matcher is reused by the next call with the same pattern.
+     */
+    Matcher matcher(Pattern pat, CharSequence s) {
+	if (hasDeadline) {
+	    DeadlineCharSequence ds = texts.get(pat);
+	    if (ds == null) {
+		ds = new DeadlineCharSequence();
+		texts.put(pat, ds);
+	    }
+	    ds.reset(s, deadline);
+	    s = ds;
+	}
+	Matcher m = matchers.get(pat);
+	if (m == null) {
+	    m = pat.matcher(s);
+	    matchers.put(pat, m);
+	} else
+	    m.reset(s);
+	return m;
+    }
+}
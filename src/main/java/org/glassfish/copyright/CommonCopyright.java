@@ -1,6 +1,6 @@
 /*
  * Copyright (c) 2010, 2018 Oracle and/or its affiliates. All rights reserved.
- * Copyright (c) 2020 Contributors to Eclipse Foundation. All rights reserved.
+ * Copyright (c) 2020, 2026 Contributors to Eclipse Foundation. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -25,7 +25,6 @@
 package org.glassfish.copyright;
 
 import java.io.*;
-import java.util.regex.*;
 
 public abstract class CommonCopyright extends AbstractCopyright {
     public CommonCopyright(Copyright c) {
@@ -45,6 +44,8 @@ public abstract class CommonCopyright extends AbstractCopyright {
      * Read the first comment block in the file.
      */
     protected String readComment(BufferedReader r) throws IOException {
+	if (r instanceof HeadReader)
+	    return readComment((HeadReader)r);
 	StringBuilder comment = new StringBuilder();
 	String line;
 	// skip blank lines at beginning of file
@@ -87,25 +88,81 @@ public abstract class CommonCopyright extends AbstractCopyright {
 	return comment.toString();
     }
 
+    /**
+     * Read the first comment block in the file, the same as above,
+     * but looking at the lines in the buffer without copying them.
+     */
+    private String readComment(HeadReader r) throws IOException {
+	CheckContext cc = CheckContext.get();
+	StringBuilder commentBuf = cc.comment;
+	StringBuilder prefixBuf = cc.prefix;
+	commentBuf.setLength(0);
+	HeadReader.Line line;
+	// skip blank lines at beginning of file
+	while ((line = r.readLineView()) != null) {
+	    line.strip();
+	    if (isPreamble(line))
+		continue;
+	    if (line.length() != 0)
+		break;
+	}
+	if (line == null || !isCommentStart(line))
+	    return null;
+	boolean havePrefix = false;
+	while ((line = r.readLineView()) != null) {
+	    if (indexOf(line, "/*") >= 0)
+		continue;
+	    // have we figured out what the prefix is for this block?
+	    if (!havePrefix) {
+		if (line.length() == 0)
+		    continue;
+		prefixBuf.setLength(0);
+		prefixBuf.append(line, 0, prefixLength(line));
+		havePrefix = true;
+	    }
+	    if (isCommentEnd(line))
+		break;		// end of comment
+	    if (indexOf(line, "*/") >= 0)
+		break;		// end of comment
+	    int start = 0;
+	    if (line.length() >= prefixBuf.length()) {
+		if (lineStartsWith(line, prefixBuf))
+		    start = prefixBuf.length();
+	    } else {
+		if (lineStartsWith(prefixBuf, line))
+		    start = line.length();
+	    }
+	    line.strip();
+	    line.appendTo(commentBuf, start, Math.max(line.length(), start));
+	    commentBuf.append('\n');
+	}
+	int len = commentBuf.length();
+	if (len >= 2 && commentBuf.charAt(len - 1) == '\n' &&
+		commentBuf.charAt(len - 2) == '\n')
+	    commentBuf.setLength(len - 1);
+	return commentBuf.toString();
+    }
+
     /**
      * Should this line be allowed before the first comment line?
+     * The line may be a String or a view of the file's buffer.
      */
-    protected boolean isPreamble(String line) {
+    protected boolean isPreamble(CharSequence line) {
 	return false;
     }
 
     /**
      * Is this the start of a comment?
      */
-    protected boolean isCommentStart(String line) {
-	return line != null && line.indexOf(commentStart) >= 0;
+    protected boolean isCommentStart(CharSequence line) {
+	return line != null && indexOf(line, commentStart) >= 0;
     }
 
     /**
      * Is this the end of a comment?
      */
-    protected boolean isCommentEnd(String line) {
-	return line.indexOf(commentEnd.trim()) >= 0;
+    protected boolean isCommentEnd(CharSequence line) {
+	return indexOf(line, commentEnd.trim()) >= 0;
     }
 
     /**
@@ -146,9 +203,9 @@ public abstract class CommonCopyright extends AbstractCopyright {
 	    String trailer = "";
 	    while ((line = in.readLine()) != null) {
 		if (!sawCopyright && line.indexOf("Copyright") >= 0) {
-		    Matcher m = ypat.matcher(line);
-		    if (m.find()) {
-			lastChanged = addCopyrightDate(m.group(ypat_YEAR),
+		    CopyrightLine cl = CheckContext.get().copyrightLine;
+		    if (cl.find(line)) {
+			lastChanged = addCopyrightDate(cl.year(line),
 							lastChanged);
 			sawCopyright = true;
 		    }
@@ -209,12 +266,12 @@ public abstract class CommonCopyright extends AbstractCopyright {
 	    boolean updated = false;
 	    while ((line = in.readLine()) != null) {
 		if (!updated && line.indexOf("Copyright") >= 0) {
-		    Matcher m = ypat.matcher(line);
-		    if (m.find()) {
-			String y = addCopyrightDate(m.group(ypat_YEAR),
+		    CopyrightLine cl = CheckContext.get().copyrightLine;
+		    if (cl.find(line)) {
+			String y = addCopyrightDate(cl.year(line),
 						    lastChanged);
-			line = line.substring(0, m.start(ypat_YEAR)) + y +
-					    line.substring(m.end(ypat_YEAR));
+			line = line.substring(0, cl.yearStart) + y +
+					    line.substring(cl.yearEnd);
 			updated = true;
 		    }
 		}
@@ -1,6 +1,6 @@
 /*
  * Copyright (c) 2010, 2019 Oracle and/or its affiliates. All rights reserved.
- * Copyright (c) 2020 Contributors to Eclipse Foundation. All rights reserved.
+ * Copyright (c) 2020, 2026 Contributors to Eclipse Foundation. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -22,7 +22,8 @@
  * Usage: java -jar copyright.jar
  *		[-w] -[y] [-r] [-n] [-s] [-h] [-m] [-g] [-S] [-c] [-q] [-j] [-x]
  *		[-p] [-t] [-N] [-D] [-X pat] [-C file] [-A file] [-B file] [-P]
- *		[-v] [-V] [files ...]
+ *		[-L] [-I] [-M size] [-K] [-H size] [-E size] [-O size]
+ *		[-T ms] [-F] [-Z n] [-v] [-V] [files ...]
  *
  * Options:
  *	-w	suppress warnings
@@ -47,6 +48,19 @@
  *	-A	file(s) containing alternate correct copyright template(s)
  *	-B	file containing correct BSD copyright template
  *	-P	preserve original copyrights
+ *	-L	follow symbolic links
+ *	-I	process directory entries in inode order
+ *	-M	only check the header of files larger than size
+ *	-K	with -M, skip larger files completely
+ *	-H	read at most size bytes looking for the header
+ *	-E	read at most size bytes after the header looking for
+ *		extra copyrights
+ *	-O	report comments longer than size as oversized (default 8k)
+ *	-T	give up matching a file's copyright after ms milliseconds
+ *		(default 10000)
+ *	-F	accept a header with the SPDX-License-Identifier of a good
+ *		template, checking only the identifier and copyright lines
+ *	-Z	with -F, fully check every nth header accepted that way
  *	-v	verbose output
  *	-V	print version number
  *
@@ -56,6 +70,8 @@
 package org.glassfish.copyright;
 
 import java.io.*;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.*;
 
 public class Copyright {
@@ -79,6 +95,16 @@ public class Copyright {
     public boolean doText = false;
     public boolean preserveCopyrights = false;
     public boolean verbose = false;
+    public boolean followLinks = false;
+    public boolean inodeOrder = false;
+    public long maxFileSize = 0;	// only check header of larger files
+    public boolean skipLargeFiles = false;	// skip them completely
+    public long maxHeaderBytes = 0;	// if set, overrides default per format
+    public long maxWarnBytes = 0;	// limit scan for extra copyrights
+    public long maxCommentLength = 8 * 1024;	// longer is oversized
+    public long maxMatchTime = 10000;	// milliseconds to match a file
+    public boolean spdxFast = false;	// accept headers by SPDX identifier
+    public int spdxSample = 0;	// with spdxFast, fully check every nth
     public File correctTemplate;
     public List<File> alternateTemplates = new ArrayList<File>();
     public File correctBSDTemplate;
@@ -93,38 +119,47 @@ public class Copyright {
     public int nCDDLGPLCE;
     public int nNoCE;
     public int nWrong;
+    public int nOversized;
+    public int nTimeout;
+    public int nSpdx;		// headers with a known SPDX identifier
     public int nNoYear;
     public int nDate;
+    public int nBinary;
+    public int nLarge;
+    public int nHeaderOnly;
     public int errors;
     public boolean sawUnknown;
 
     public List<String> excludes = new ArrayList<String>();
 
-    private AbstractCopyright javaCopyright;
-    private AbstractCopyright xmlCopyright;
-    private AbstractCopyright textCopyright;
-    private AbstractCopyright sigCopyright;
-    private AbstractCopyright propsCopyright;
-    private AbstractCopyright batCopyright;
-    private AbstractCopyright mdCopyright;
-    private AbstractCopyright adCopyright;
-    private AbstractCopyright jspCopyright;
+    // the supported file formats
+    private FormatRegistry formats;
+    // the templates, read when first needed
+    private TemplateSet templates;
+
+    // file keys of the files and directories we've already visited
+    private Set<Object> visited = new HashSet<Object>();
 
     public static final List<String> ignoredDirs =
 		    Collections.unmodifiableList(
 			Arrays.asList(".m2", ".svn", ".hg", ".git", "target"));
 
     private void init() {
-	if (javaCopyright == null) {
-	    javaCopyright = new JavaCopyright(this);
-	    xmlCopyright = new XmlCopyright(this);
-	    textCopyright = new TextCopyright(this);
-	    sigCopyright = new SigCopyright(this);
-	    propsCopyright = new PropertiesCopyright(this);
-	    batCopyright = new BatCopyright(this);
-	    mdCopyright = new MarkdownCopyright(this);
-	    adCopyright = new AsciidocCopyright(this);
-	    jspCopyright = new JspCopyright(this);
+	if (formats == null) {
+	    formats = new FormatRegistry();
+	    // additional formats first, so they can override the built in ones
+	    for (CopyrightProvider p : ServiceLoader.load(
+		    CopyrightProvider.class, Copyright.class.getClassLoader()))
+		formats.register(p.createCopyright(this));
+	    formats.register(new JavaCopyright(this));
+	    formats.register(new JspCopyright(this));
+	    formats.register(new XmlCopyright(this));
+	    formats.register(new BatCopyright(this));
+	    formats.register(new MarkdownCopyright(this));
+	    formats.register(new AsciidocCopyright(this));
+	    formats.register(new SigCopyright(this));
+	    formats.register(new PropertiesCopyright(this));
+	    formats.register(new TextCopyright(this));
 
 	    if (!doJava && !doXml && !doProps && !doText)
 		// by default, do them all
@@ -132,12 +167,23 @@ public class Copyright {
 	}
     }
 
+    /**
+     * The copyright templates, shared by all the file formats.
+     * The templates are read the first time they're needed, so the
+     * template options must be set before any file is checked.
+     */
+    synchronized TemplateSet getTemplates() {
+	if (templates == null)
+	    templates = new TemplateSet(this);
+	return templates;
+    }
+
     /**
      * Check the file.  If the file is a directory, recurse.
      */
     public void check(File file) throws IOException {
 	init();
-	check(file, false);
+	check(file, false, true);
     }
 
     /**
@@ -160,19 +206,23 @@ public class Copyright {
 	    String name = file.getName();
 	    if (ignoredDirs.contains(name))
 		return;
-	    File[] files = file.listFiles();
+	    if (!visit(file, true))
+		return;
+	    File[] files = listFiles(file);
 	    for (File f : files)
-		check(f, true);
-	} else
+		check(f, true, false);
+	} else if (visit(file, true))
 	    checkFile(file);
     }
 
     /**
      * Check the file.  If the file is a directory, recurse.
      * If skipMavenDir is true, skip directories that contain
-     * a pom.xml file.
+     * a pom.xml file.  If top is true, the file was named explicitly
+     * and is checked even if it's a symbolic link.
      */
-    private void check(File file, boolean skipMavenDir) throws IOException {
+    private void check(File file, boolean skipMavenDir, boolean top)
+				throws IOException {
 	if (!file.exists()) {
 	    System.out.println(file + ": doesn't exist");
 	    return;
@@ -201,19 +251,84 @@ public class Copyright {
 		    return;
 		}
 	    }
-	    File[] files = file.listFiles();
+	    if (!visit(file, top))
+		return;
+	    File[] files = listFiles(file);
 	    for (File f : files)
-		check(f);
-	} else
+		check(f, false, false);
+	} else if (visit(file, top))
 	    checkFile(file);
     }
 
+    /**
+     * List the files in the directory.
+     * If inodeOrder is set, sort the files by inode number so that
+     * they're read in roughly the order they're laid out on disk,
+     * which avoids random seeks on spinning disks and some network
+     * file systems.
+     */
+    private File[] listFiles(File dir) {
+	File[] files = dir.listFiles();
+	if (!inodeOrder || files == null)
+	    return files;
+	final Map<File, Long> inodes = new HashMap<File, Long>();
+	try {
+	    for (File f : files)
+		inodes.put(f, (Long)Files.getAttribute(f.toPath(), "unix:ino",
+						LinkOption.NOFOLLOW_LINKS));
+	} catch (UnsupportedOperationException ex) {
+	    return files;	// no inode numbers on this platform
+	} catch (IllegalArgumentException ex) {
+	    return files;
+	} catch (IOException ex) {
+	    return files;	// file vanished?  just use the original order
+	}
+	Arrays.sort(files, new Comparator<File>() {
+	    public int compare(File f1, File f2) {
+		return inodes.get(f1).compareTo(inodes.get(f2));
+	    }
+	});
+	return files;
+    }
+
+    /**
+     * Should we process this file or directory?
+     * Symbolic links are only followed if followLinks is set, or if
+     * the link was named explicitly (top is true).  Files are identified
+     * by their file key (device and inode) so that each file is checked
+     * only once, even if it's reachable by more than one path, and so
+     * that symbolic link loops are broken.
+     */
+    private boolean visit(File file, boolean top) throws IOException {
+	Path path = file.toPath();
+	BasicFileAttributes attrs = Files.readAttributes(path,
+			BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+	if (attrs.isSymbolicLink()) {
+	    if (!followLinks && !top) {
+		if (verbose)
+		    System.out.println("Symbolic link skipped: " + file);
+		return false;
+	    }
+	    attrs = Files.readAttributes(path, BasicFileAttributes.class);
+	}
+	Object key = attrs.fileKey();
+	if (key == null)		// no file keys on this platform
+	    key = file.getCanonicalFile();
+	if (!visited.add(key)) {
+	    if (verbose)
+		System.out.println("Already visited, skipped: " + file);
+	    return false;
+	}
+	return true;
+    }
+
     /**
      * Check the copyright in the named file.
      */
     private void checkFile(File file) throws IOException {
+	long length = file.length();
 	// ignore empty files
-	if (file.length() == 0) {
+	if (length == 0) {
 	    if (verbose)
 		System.out.println("Empty file, skipped: " + file);
 	    return;
@@ -228,54 +343,72 @@ public class Copyright {
 		return;
 	    }
 	}
-	if (javaCopyright.supports(file)) {
-	    if (debug)
-		System.out.println("File " + file + " is a Java file");
-	    if (doJava)
-		javaCopyright.checkCopyright(file);
-	} else if (jspCopyright.supports(file)) {
-	    if (debug)
-		System.out.println("File " + file + " is a JSP file");
-	    if (doXml)
-		jspCopyright.checkCopyright(file);
-	} else if (xmlCopyright.supports(file)) {
-	    if (debug)
-		System.out.println("File " + file + " is an XML file");
-	    if (doXml)
-		xmlCopyright.checkCopyright(file);
-	} else if (batCopyright.supports(file)) {
-	    if (debug)
-		System.out.println("File " + file + " is a BAT file");
-	    if (doText)
-		batCopyright.checkCopyright(file);
-	} else if (mdCopyright.supports(file)) {
-	    if (debug)
-		System.out.println("File " + file + " is a markdown file");
-	    if (doText)
-		mdCopyright.checkCopyright(file);
-	} else if (adCopyright.supports(file)) {
-	    if (debug)
-		System.out.println("File " + file + " is an asciidoc file");
-	    if (doText)
-		adCopyright.checkCopyright(file);
-	} else if (sigCopyright.supports(file)) {
-	    if (debug)
-		System.out.println("File " + file + " is a signature file");
-	    if (doProps)
-		sigCopyright.checkCopyright(file);
-	} else if (propsCopyright.supports(file)) {
-	    if (debug)
-		System.out.println("File " + file + " is a properties file");
-	    if (doProps)
-		propsCopyright.checkCopyright(file);
-	} else {
-	    if (debug)
-		System.out.println("File " + file + " is a text file");
-	    if (doText)
-		textCopyright.checkCopyright(file);
+	if (isLargeFile(length)) {
+	    if (skipLargeFiles) {
+		if (verbose)
+		    System.out.println("Large file, skipped: " + file);
+		nLarge++;
+		return;
+	    }
+	}
+	HeadBuffer head = CheckContext.get().head;
+	head.read(file, length);
+	try {
+	    checkFile(file, head);
+	} finally {
+	    head.close();
+	}
+    }
+
+    /**
+     * Check the copyright in the file, using the appropriate
+     * syntax for the type of file.
+     */
+    private void checkFile(File file, HeadBuffer head) throws IOException {
+	AbstractCopyright format = formats.lookup(file, head);
+	if (format == null) {
+	    if (verbose)
+		System.out.println("Binary file, skipped: " + file);
+	    nBinary++;
+	    return;
+	}
+	if (debug)
+	    System.out.println("File " + file + " is " + format.getFileType());
+	if (format.isEnabled()) {
+	    if (isLargeFile(head.fileLength())) {
+		if (verbose)
+		    System.out.println("Large file, header only: " + file);
+		nHeaderOnly++;
+	    }
+	    try {
+		format.checkCopyright(file, head);
+	    } catch (MatchTimeoutException ex) {
+		if (!quiet)
+		    System.out.println(file + ": Copyright check timed out");
+		nTimeout++;
+		errors++;
+	    } finally {
+		CheckContext.get().clearDeadline();
+	    }
 	}
     }
 
+    /**
+     * Should this header, with the SPDX identifier of a good template,
+     * be fully checked anyway?
+     */
+    synchronized boolean sampleSpdx() {
+	nSpdx++;
+	return spdxSample > 0 && nSpdx % spdxSample == 0;
+    }
+
+    /**
+     * Is this file too large to be checked completely?
+     */
+    boolean isLargeFile(long length) {
+	return maxFileSize > 0 && length > maxFileSize;
+    }
+
     public void addExclude(String ex) {
 	if (ex == null || ex.length() == 0)
 	    return;
@@ -358,6 +491,26 @@ public class Copyright {
 		c.correctBSDTemplate = new File(argv[++optind]);
 	    } else if (argv[optind].equals("-P")) {
 		c.preserveCopyrights = true;
+	    } else if (argv[optind].equals("-L")) {
+		c.followLinks = true;
+	    } else if (argv[optind].equals("-I")) {
+		c.inodeOrder = true;
+	    } else if (argv[optind].equals("-M")) {
+		c.maxFileSize = parseSize(argv[++optind]);
+	    } else if (argv[optind].equals("-K")) {
+		c.skipLargeFiles = true;
+	    } else if (argv[optind].equals("-H")) {
+		c.maxHeaderBytes = parseSize(argv[++optind]);
+	    } else if (argv[optind].equals("-E")) {
+		c.maxWarnBytes = parseSize(argv[++optind]);
+	    } else if (argv[optind].equals("-O")) {
+		c.maxCommentLength = parseSize(argv[++optind]);
+	    } else if (argv[optind].equals("-T")) {
+		c.maxMatchTime = parseTime(argv[++optind]);
+	    } else if (argv[optind].equals("-F")) {
+		c.spdxFast = true;
+	    } else if (argv[optind].equals("-Z")) {
+		c.spdxSample = Integer.parseInt(argv[++optind]);
 	    } else if (argv[optind].equals("-v")) {
 		c.verbose = true;
 	    } else if (argv[optind].equals("-V")) {
@@ -367,43 +520,7 @@ public class Copyright {
 		optind++;
 		break;
 	    } else if (argv[optind].startsWith("-")) {
-		System.out.println("Usage: copyright " +
-		    "[-w] [-y] [-r] [-n] [-s] [-h] [-m] [-c] [-S] [-q] [-j] " +
-		    "[-x] [-p] [-t] [-N] [-D] [-V] [-X pat] [-C file] " +
-                    "[-A file(s)] [-B file] [-P] [-v] [files...]");
-		System.out.println("\t-w\tsuppress warnings");
-		System.out.println("\t-y\tdon't check that year is correct " +
-				    "(much faster)");
-		System.out.println("\t-r\trepair files that are wrong");
-		System.out.println("\t-n\twith -r, leave the updated file in " +
-				    "file.new");
-		System.out.println("\t-s\tskip files not under source " +
-				    "control (slower)");
-		System.out.println("\t-h\tcheck hidden files too");
-		System.out.println("\t-m\tuse Mercurial");
-		System.out.println("\t-g\tuse Git (default)");
-		System.out.println("\t-S\tuse SVN");
-		System.out.println("\t-c\tcount errors and print summary");
-		System.out.println("\t-q\tdon't print errors for each file");
-		System.out.println("\t-j\tcheck Java syntax files");
-		System.out.println("\t-x\tcheck XML syntax files");
-		System.out.println("\t-p\tcheck properties syntax files");
-		System.out.println("\t-t\tcheck other text files");
-		System.out.println("\t-N\tnormalize format of repaired " +
-                                    "copyright to match template");
-		System.out.println("\t-D\tdash instead of comma between years");
-		System.out.println("\t-X\texclude files matching pat " +
-				    "(substring only)");
-		System.out.println("\t-C\tfile containing correct copyright " +
-				    "template, using Java syntax");
-		System.out.println("\t-A\tfile(s) containing alternate " +
-				    "correct copyright template(s)");
-		System.out.println("\t-B\tfile containing correct BSD " +
-				    "copyright template");
-		System.out.println("\t-P\tpreserve original copyrights");
-		System.out.println("\t-v\tverbose output");
-		System.out.println("\t-V\tprint version number");
-		System.exit(-1);
+		usage();
 	    } else {
 		break;
 	    }
@@ -420,12 +537,121 @@ public class Copyright {
 	System.exit(c.errors);
     }
 
+    /**
+     * Print the usage message and exit.
+     */
+    private static void usage() {
+	System.out.println("Usage: copyright " +
+	    "[-w] [-y] [-r] [-n] [-s] [-h] [-m] [-c] [-S] [-q] [-j] " +
+	    "[-x] [-p] [-t] [-N] [-D] [-V] [-X pat] [-C file] " +
+	    "[-A file(s)] [-B file] [-P] [-L] [-I] [-M size] [-K] " +
+	    "[-H size] [-E size] [-O size] [-T ms] [-F] [-Z n] " +
+	    "[-v] [-V] [files...]");
+	System.out.println("\t-w\tsuppress warnings");
+	System.out.println("\t-y\tdon't check that year is correct " +
+			    "(much faster)");
+	System.out.println("\t-r\trepair files that are wrong");
+	System.out.println("\t-n\twith -r, leave the updated file in " +
+			    "file.new");
+	System.out.println("\t-s\tskip files not under source " +
+			    "control (slower)");
+	System.out.println("\t-h\tcheck hidden files too");
+	System.out.println("\t-m\tuse Mercurial");
+	System.out.println("\t-g\tuse Git (default)");
+	System.out.println("\t-S\tuse SVN");
+	System.out.println("\t-c\tcount errors and print summary");
+	System.out.println("\t-q\tdon't print errors for each file");
+	System.out.println("\t-j\tcheck Java syntax files");
+	System.out.println("\t-x\tcheck XML syntax files");
+	System.out.println("\t-p\tcheck properties syntax files");
+	System.out.println("\t-t\tcheck other text files");
+	System.out.println("\t-N\tnormalize format of repaired " +
+			    "copyright to match template");
+	System.out.println("\t-D\tdash instead of comma between years");
+	System.out.println("\t-X\texclude files matching pat " +
+			    "(substring only)");
+	System.out.println("\t-C\tfile containing correct copyright " +
+			    "template, using Java syntax");
+	System.out.println("\t-A\tfile(s) containing alternate " +
+			    "correct copyright template(s)");
+	System.out.println("\t-B\tfile containing correct BSD " +
+			    "copyright template");
+	System.out.println("\t-P\tpreserve original copyrights");
+	System.out.println("\t-L\tfollow symbolic links");
+	System.out.println("\t-I\tprocess directory entries in " +
+			    "inode order");
+	System.out.println("\t-M\tonly check the header of files " +
+			    "larger than size");
+	System.out.println("\t-K\twith -M, skip larger files " +
+			    "completely");
+	System.out.println("\t-H\tread at most size bytes looking " +
+			    "for the header");
+	System.out.println("\t-E\tread at most size bytes after " +
+			    "the header looking for extra copyrights");
+	System.out.println("\t-O\treport comments longer than " +
+			    "size as oversized (default 8k)");
+	System.out.println("\t-T\tgive up matching a file's " +
+			    "copyright after ms milliseconds");
+	System.out.println("\t-F\taccept headers with the SPDX " +
+			    "identifier of a good template");
+	System.out.println("\t-Z\twith -F, fully check every " +
+			    "nth such header");
+	System.out.println("\t-v\tverbose output");
+	System.out.println("\t-V\tprint version number");
+	System.exit(-1);
+    }
+
+    /**
+     * Parse a size in bytes, with an optional k, m, or g suffix.
+     * Print the usage message and exit if it isn't a valid size.
+     */
+    private static long parseSize(String s) {
+	if (s.length() == 0)
+	    usage();
+	long mult = 1;
+	switch (Character.toLowerCase(s.charAt(s.length() - 1))) {
+	case 'k':	mult = 1024; break;
+	case 'm':	mult = 1024 * 1024; break;
+	case 'g':	mult = 1024 * 1024 * 1024; break;
+	}
+	if (mult != 1)
+	    s = s.substring(0, s.length() - 1);
+	long size = -1;
+	try {
+	    size = Math.multiplyExact(Long.parseLong(s), mult);
+	} catch (NumberFormatException ex) {
+	    // fall through to the usage message
+	} catch (ArithmeticException ex) {
+	    // too big, fall through to the usage message
+	}
+	if (size < 0)
+	    usage();
+	return size;
+    }
+
+    /**
+     * Parse a time in milliseconds.
+     * Print the usage message and exit if it isn't a valid time.
+     */
+    private static long parseTime(String s) {
+	long ms = -1;
+	try {
+	    ms = Long.parseLong(s);
+	} catch (NumberFormatException ex) {
+	    // fall through to the usage message
+	}
+	if (ms < 0)
+	    usage();
+	return ms;
+    }
+
     /**
      * Print a summary of errors.
      */
     private static void summary(Copyright c) {
 	if (c.errors == 0) {
 	    System.out.println("No errors");
+	    skipped(c);
 	    return;
 	}
 
@@ -452,9 +678,27 @@ public class Copyright {
 	    System.out.println("Copyright without CE:\t" + c.nNoCE);
 	if (c.nWrong > 0)
 	    System.out.println("Wrong Copyright:\t" + c.nWrong);
+	if (c.nOversized > 0)
+	    System.out.println("Oversized Copyright:\t" + c.nOversized);
+	if (c.nTimeout > 0)
+	    System.out.println("Copyright Timed Out:\t" + c.nTimeout);
 	if (c.nNoYear > 0)
 	    System.out.println("No Copyright Year:\t" + c.nNoYear);
 	if (!c.ignoreYear && c.nDate > 0)
 	    System.out.println("Wrong Copyright Date:\t" + c.nDate);
+	skipped(c);
+    }
+
+    /**
+     * Print a summary of files that were skipped.
+     */
+    private static void skipped(Copyright c) {
+	if (c.nBinary > 0)
+	    System.out.println("Binary files skipped:\t" + c.nBinary);
+	if (c.nLarge > 0)
+	    System.out.println("Large files skipped:\t" + c.nLarge);
+	if (c.nHeaderOnly > 0)
+	    System.out.println("Large files, header only:\t" +
+				c.nHeaderOnly);
     }
 }
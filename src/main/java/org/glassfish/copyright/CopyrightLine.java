@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+/**
+ * A parser for copyright lines, equivalent to finding or matching
+ * the COPYRIGHT_STRING regular expression (ypat), or finding the
+ * COPYRIGHT_LINE regular expression (ylpat), but without backtracking
+ * or allocating anything.  After a successful match the fields give
+ * the offsets of the parts of the match.  A parser is reused for many
+ * matches.
+ */
+
+package org.glassfish.copyright;
+
+final class CopyrightLine {
+    private static final String PORTIONS = "Portions ";
+    private static final String COPYRIGHT = "Copyright ";
+    private static final String C = "(c) ";
+    private static final String BY = "by ";
+    private static final String RESERVED = "All rights reserved";
+
+    int start;		// start of the match
+    int end;		// end of the match
+    int yearStart;	// start of the years (ypat_YEAR)
+    int yearEnd;	// end of the years
+    int holderStart;	// start of the copyright holder
+    int holderEnd;	// end of the copyright holder, and the line
+    boolean portions;	// "Portions Copyright"
+    boolean c;		// "(c)" after "Copyright"
+    boolean by;		// "by" before the holder
+    boolean reserved;	// "All rights reserved." line follows (ylpat only)
+
+    /**
+     * Find a copyright in s, like ypat.matcher(s).find().
+     */
+    boolean find(CharSequence s) {
+	return find(s, 0, s.length());
+    }
+
+    /**
+     * Find a copyright in s between "from" and "to", like
+     * ypat.matcher(s).region(from, to).find().
+     */
+    boolean find(CharSequence s, int from, int to) {
+	for (int j = indexOf(s, COPYRIGHT, from, to); j >= 0;
+		j = indexOf(s, COPYRIGHT, j + 1, to)) {
+	    if (parse(s, j + COPYRIGHT.length(), to)) {
+		portions = j - PORTIONS.length() >= from &&
+		    startsWith(s, PORTIONS, j - PORTIONS.length(), to);
+		start = portions ? j - PORTIONS.length() : j;
+		end = holderEnd;
+		reserved = false;
+		return true;
+	    }
+	}
+	return false;
+    }
+
+    /**
+     * Does the part of s between "from" and "to" match ypat,
+     * like ypat.matcher(s).region(from, to).matches()?
+     */
+    boolean matches(CharSequence s, int from, int to) {
+	int j = from;
+	portions = startsWith(s, PORTIONS, j, to);
+	if (portions)
+	    j += PORTIONS.length();
+	if (!startsWith(s, COPYRIGHT, j, to) ||
+		!parse(s, j + COPYRIGHT.length(), to) || holderEnd != to)
+	    return false;
+	start = from;
+	end = to;
+	reserved = false;
+	return true;
+    }
+
+    /**
+     * Find a copyright line in s starting at "from", like
+     * ylpat.matcher(s).find(from), except that the search starts at
+     * "from" without resetting the matcher.  The copyright must be at
+     * the start of a line, and may be followed by an
+     * "All rights reserved." line.
+     */
+    boolean findLine(CharSequence s, int from) {
+	int len = s.length();
+	for (int j = indexOf(s, COPYRIGHT, from, len); j >= 0;
+		j = indexOf(s, COPYRIGHT, j + 1, len)) {
+	    int i = j - PORTIONS.length();
+	    if (i >= from && startsWith(s, PORTIONS, i, len) &&
+		    isLineStart(s, i))
+		portions = true;
+	    else if (isLineStart(s, j)) {
+		portions = false;
+		i = j;
+	    } else
+		continue;
+	    if (!parse(s, j + COPYRIGHT.length(), len))
+		continue;
+	    start = i;
+	    end = holderEnd;
+	    // the optional "\nAll rights reserved." and the end of the line
+	    int e = holderEnd;
+	    int dot = e + 1 + RESERVED.length();
+	    reserved = dot < len && s.charAt(e) == '\n' &&
+		startsWith(s, RESERVED, e + 1, len) &&
+		!isLineTerminator(s.charAt(dot)) &&
+		(dot + 1 == len || isLineTerminator(s.charAt(dot + 1)));
+	    if (reserved)
+		end = dot + 1;
+	    return true;
+	}
+	return false;
+    }
+
+    /**
+     * Parse the rest of the copyright starting after "Copyright ".
+     * The years are the longest run of year characters followed by
+     * a space and a letter, as the backtracking regex would find.
+     */
+    private boolean parse(CharSequence s, int p, int to) {
+	c = startsWith(s, C, p, to);
+	int q = c ? p + C.length() : p;
+	int run = q;
+	while (run < to && isYearChar(s.charAt(run)))
+	    run++;
+	for (int k = run - 1; k > q; k--) {
+	    if (s.charAt(k) == ' ' && k + 1 < to && isLetter(s.charAt(k + 1))) {
+		yearStart = q;
+		yearEnd = k;
+		int r = k + 1;
+		by = startsWith(s, BY, r, to) && r + BY.length() < to &&
+		    isLetter(s.charAt(r + BY.length()));
+		holderStart = by ? r + BY.length() : r;
+		int e = holderStart + 1;
+		while (e < to && !isLineTerminator(s.charAt(e)))
+		    e++;
+		holderEnd = e;
+		return true;
+	    }
+	}
+	return false;
+    }
+
+    /**
+     * The years of the last match.
+     */
+    String year(CharSequence s) {
+	return s.subSequence(yearStart, yearEnd).toString();
+    }
+
+    private static boolean isYearChar(char ch) {
+	return (ch >= '0' && ch <= '9') || ch == '-' || ch == ',' || ch == ' ';
+    }
+
+    private static boolean isLetter(char ch) {
+	return (ch >= 'A' && ch <= 'Z') || (ch >= 'a' && ch <= 'z');
+    }
+
+    /**
+     * Is ch a line terminator, which "." doesn't match?
+     */
+    private static boolean isLineTerminator(char ch) {
+	return ch == '\n' || ch == '\r' || ch == '\u0085' ||
+	    ch == '\u2028' || ch == '\u2029';
+    }
+
+    /**
+     * Does "^" match at i, in MULTILINE mode?
+     */
+    private static boolean isLineStart(CharSequence s, int i) {
+	if (i == 0)
+	    return true;
+	char ch = s.charAt(i - 1);
+	if (!isLineTerminator(ch))
+	    return false;
+	// not between "\r" and "\n"
+	return !(ch == '\r' && s.charAt(i) == '\n');
+    }
+
+    private static boolean startsWith(CharSequence s, String prefix,
+				int i, int to) {
+	if (to - i < prefix.length())
+	    return false;
+	for (int k = 0; k < prefix.length(); k++) {
+	    if (s.charAt(i + k) != prefix.charAt(k))
+		return false;
+	}
+	return true;
+    }
+
+    private static int indexOf(CharSequence s, String str, int from, int to) {
+	if (s instanceof String) {
+	    int i = ((String)s).indexOf(str, from);
+	    return i >= 0 && i + str.length() <= to ? i : -1;
+	}
+	for (int i = from; i + str.length() <= to; i++) {
+	    if (startsWith(s, str, i, to))
+		return i;
+	}
+	return -1;
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+/**
+ * A provider of support for additional file formats.
+ * Providers are found using java.util.ServiceLoader; list the
+ * provider class in a
+ * META-INF/services/org.glassfish.copyright.CopyrightProvider
+ * resource on the class path of the plugin.  Formats from providers
+ * are consulted before the built in formats.
+ */
+
+package org.glassfish.copyright;
+
+public interface CopyrightProvider {
+    /**
+     * Create the object that supports the file format, using the
+     * specified context and configuration.
+     */
+    public AbstractCopyright createCopyright(Copyright c);
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+/**
+ * A CharSequence that throws MatchTimeoutException when it's read
+ * after a deadline.  Regular expressions read the text they match
+ * using charAt, so wrapping the text limits the time a pathological
+ * comment can make a regular expression backtrack.
+ */
+
+package org.glassfish.copyright;
+
+final class DeadlineCharSequence implements CharSequence {
+    // check the clock after this many chars
+    private static final int CHECK_INTERVAL = 1024;
+
+    private CharSequence s;
+    private long deadline;	// System.nanoTime value
+    private int count;		// chars read since the clock was checked
+
+    DeadlineCharSequence() {
+    }
+
+    private DeadlineCharSequence(CharSequence s, long deadline) {
+	reset(s, deadline);
+    }
+
+    /**
+     * Wrap s, with the given deadline.
+     */
+    void reset(CharSequence s, long deadline) {
+	this.s = s;
+	this.deadline = deadline;
+	count = 0;
+    }
+
+    @Override
+    public char charAt(int index) {
+	if (++count >= CHECK_INTERVAL) {
+	    count = 0;
+	    if (System.nanoTime() - deadline > 0)
+		throw new MatchTimeoutException();
+	}
+	return s.charAt(index);
+    }
+
+    @Override
+    public int length() {
+	return s.length();
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+	return new DeadlineCharSequence(s.subSequence(start, end), deadline);
+    }
+
+    @Override
+    public String toString() {
+	return s.toString();
+    }
+}
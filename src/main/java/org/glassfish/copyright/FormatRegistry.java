@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+/**
+ * Find the AbstractCopyright subclass that supports a file.
+ * Files are looked up by name, then by extension, using hash tables.
+ * Only if neither identifies the file is each format asked, in the
+ * order they were registered, whether it supports the file based on
+ * its content.  Binary files that aren't identified by name or extension
+ * aren't supported by any format.
+ */
+
+package org.glassfish.copyright;
+
+import java.io.File;
+import java.util.*;
+
+class FormatRegistry {
+    private final List<AbstractCopyright> formats =
+				new ArrayList<AbstractCopyright>();
+    private final Map<String, AbstractCopyright> names =
+				new HashMap<String, AbstractCopyright>();
+    private final Map<String, AbstractCopyright> extensions =
+				new HashMap<String, AbstractCopyright>();
+
+    /**
+     * Add the format.  If more than one format claims the same file
+     * name or extension, the first one registered wins.
+     */
+    public void register(AbstractCopyright format) {
+	formats.add(format);
+	for (String name : format.getFileNames()) {
+	    if (!names.containsKey(name))
+		names.put(name, format);
+	}
+	for (String ext : format.getExtensions()) {
+	    if (!extensions.containsKey(ext))
+		extensions.put(ext, format);
+	}
+    }
+
+    /**
+     * Return the format that supports the file, or null if none does.
+     */
+    public AbstractCopyright lookup(File file, HeadBuffer head) {
+	String fname = file.getName();
+	AbstractCopyright format = names.get(fname);
+	if (format != null && format.supports(file, head))
+	    return format;
+	// try each extension, longest first, e.g., ".md.vm" then ".vm"
+	int i = fname.indexOf('.');
+	while (i >= 0) {
+	    format = extensions.get(fname.substring(i));
+	    if (format != null)
+		return format;
+	    i = fname.indexOf('.', i + 1);
+	}
+	if (head.isBinary())
+	    return null;
+	for (AbstractCopyright f : formats) {
+	    if (f.supports(file, head))
+		return f;
+	}
+	return null;
+    }
+}
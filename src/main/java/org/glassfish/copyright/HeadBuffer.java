@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+/**
+ * The first part of a file, read once and shared by the format
+ * detection in AbstractCopyright.supports and by the comment readers,
+ * so that each file is only opened once.
+ * The buffer is reused for each file that's checked.
+ */
+
+package org.glassfish.copyright;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+public class HeadBuffer {
+    /**
+     * The number of bytes read from the start of each file.
+     */
+    public static final int SIZE = 8192;
+
+    // size of the chunks used to read the rest of the file
+    private static final int CHUNK = 64 * 1024;
+
+    // magic numbers of common binary file formats
+    private static final byte[][] magic = {
+	{ (byte)0x89, 'P', 'N', 'G' },				// PNG
+	{ 'G', 'I', 'F', '8' },					// GIF
+	{ (byte)0xff, (byte)0xd8, (byte)0xff },			// JPEG
+	{ 'P', 'K', 3, 4 },					// zip, jar
+	{ 'P', 'K', 5, 6 },					// empty zip
+	{ (byte)0xca, (byte)0xfe, (byte)0xba, (byte)0xbe },	// class
+	{ (byte)0xfe, (byte)0xed, (byte)0xfe, (byte)0xed },	// keystore
+	{ 0x1f, (byte)0x8b },					// gzip
+	{ 0x7f, 'E', 'L', 'F' },				// ELF
+	{ '%', 'P', 'D', 'F', '-' }				// PDF
+    };
+
+    private final byte[] buf = new byte[SIZE];
+    private final ByteBuffer bb = ByteBuffer.wrap(buf);
+    private int len;		// number of valid bytes in buf
+    private long length;	// length of the file
+    private FileChannel ch;	// the file, if it doesn't fit in buf
+    private byte[] chunk;	// the last chunk read after buf
+    private ByteBuffer cb;
+    private HeadReader reader;
+
+    /**
+     * Read the start of the file into the buffer.
+     * If the file doesn't fit in the buffer it's left open so that
+     * the rest can be read using getReader.
+     * The length of the file is already known.
+     */
+    void read(File file, long length) throws IOException {
+	close();
+	this.length = length;
+	FileChannel fc = FileChannel.open(file.toPath(),
+					    StandardOpenOption.READ);
+	try {
+	    bb.clear();
+	    len = Math.max(read(fc, bb, 0), 0);
+	} catch (IOException ex) {
+	    fc.close();
+	    throw ex;
+	}
+	if (len < buf.length)
+	    fc.close();		// the entire file is in the buffer
+	else
+	    ch = fc;
+    }
+
+    /**
+     * Read the chunk of the file starting at pos, after the buffer.
+     * Return the number of bytes read, or -1 at end of file.
+     */
+    int readChunk(long pos) throws IOException {
+	if (ch == null)
+	    return -1;
+	if (chunk == null) {
+	    chunk = new byte[CHUNK];
+	    cb = ByteBuffer.wrap(chunk);
+	}
+	cb.clear();
+	return read(ch, cb, pos);
+    }
+
+    /**
+     * The bytes read by the last call to readChunk.
+     */
+    ByteBuffer chunk() {
+	return cb;
+    }
+
+    /**
+     * Fill b from the channel, starting at pos.
+     * Return the number of bytes read, or -1 at end of file.
+     */
+    private static int read(FileChannel fc, ByteBuffer b, long pos)
+				throws IOException {
+	int n = 0;
+	while (b.hasRemaining()) {
+	    int k = fc.read(b, pos + n);
+	    if (k < 0)
+		break;
+	    n += k;
+	}
+	return n == 0 && b.hasRemaining() ? -1 : n;
+    }
+
+    /**
+     * Return a reader for the entire file, starting with the bytes
+     * in the buffer, that returns EOF after limit bytes.  The reader
+     * is only valid until the next file is read.
+     */
+    HeadReader getReader(long limit) {
+	if (reader == null)
+	    reader = new HeadReader(this);
+	reader.reset(bb, len, limit);
+	return reader;
+    }
+
+    /**
+     * Close the file, if it's still open.
+     */
+    void close() throws IOException {
+	if (ch != null) {
+	    FileChannel fc = ch;
+	    ch = null;
+	    fc.close();
+	}
+    }
+
+    /**
+     * The length of the file.
+     */
+    public long fileLength() {
+	return length;
+    }
+
+    /**
+     * The number of bytes in the buffer.
+     */
+    public int length() {
+	return len;
+    }
+
+    /**
+     * Return the byte at the specified index, as an unsigned value.
+     */
+    public int byteAt(int i) {
+	return buf[i] & 0xff;
+    }
+
+    /**
+     * Does the buffer contain binary data?
+     * The file is binary if it starts with the magic number of a
+     * common binary file format, or if it contains a NUL byte.
+     */
+    public boolean isBinary() {
+	for (byte[] m : magic) {
+	    if (len >= m.length && startsWith(m))
+		return true;
+	}
+	for (int i = 0; i < len; i++) {
+	    if (buf[i] == 0)
+		return true;
+	}
+	return false;
+    }
+
+    /**
+     * Does the buffer start with the bytes in b?
+     */
+    private boolean startsWith(byte[] b) {
+	for (int i = 0; i < b.length; i++) {
+	    if (buf[i] != b[i])
+		return false;
+	}
+	return true;
+    }
+
+    /**
+     * Does the file start with the specified prefix?
+     * Carriage returns in the file are ignored.
+     */
+    public boolean startsWith(String prefix) {
+	int i = 0;
+	for (int k = 0; k < prefix.length(); k++) {
+	    while (i < len && buf[i] == '\r')
+		i++;	// skip CR
+	    if (i >= len || (buf[i] & 0xff) != prefix.charAt(k))
+		return false;
+	    i++;
+	}
+	return true;
+    }
+}
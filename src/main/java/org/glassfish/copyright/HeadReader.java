@@ -0,0 +1,378 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+/**
+ * A reader for a file being checked, using the bytes in a HeadBuffer.
+ * The file is ISO-8859-1 so each byte is one char and no decoding
+ * is needed.  Lines are returned as by BufferedReader.readLine.
+ * The reader returns EOF after a limited number of bytes; the limit
+ * can be raised to continue reading.
+ */
+
+package org.glassfish.copyright;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+class HeadReader extends BufferedReader {
+    private final HeadBuffer head;
+    private ByteBuffer dbuf;	// the buffer being read
+    private byte[] data;	// the bytes in dbuf
+    private int pos;		// next byte in data
+    private int end;		// number of valid bytes in data
+    private long start;		// position of data in the file
+    private long limit;		// maximum bytes to read
+    private boolean skipLF;	// skip the next char if it's a newline
+    private byte[] line = new byte[256];	// partial line
+    private byte[] ldata;	// the last line read by nextLine
+    private int loff;		// offset of the line in ldata
+    private final Line view = new Line();
+
+    HeadReader(HeadBuffer head) {
+	super(new StringReader(""), 1);
+	this.head = head;
+    }
+
+    /**
+     * Start reading again at the beginning of the file.
+     */
+    void reset(ByteBuffer dbuf, int end, long limit) {
+	this.dbuf = dbuf;
+	this.data = dbuf.array();
+	this.end = end;
+	this.limit = limit;
+	pos = 0;
+	start = 0;
+	skipLF = false;
+    }
+
+    /**
+     * Set the maximum number of bytes to read from the start of
+     * the file.
+     */
+    public void setLimit(long limit) {
+	this.limit = limit;
+    }
+
+    /**
+     * The number of bytes read so far.
+     */
+    public long getCount() {
+	return start + pos;
+    }
+
+    /**
+     * The end of the bytes that can be read from data.
+     */
+    private int avail() {
+	return start + end <= limit ? end : (int)Math.max(limit - start, 0);
+    }
+
+    /**
+     * Make sure there's more data to read.
+     * Return false at EOF or if the limit has been reached.
+     */
+    private boolean fill() throws IOException {
+	if (pos < avail())
+	    return true;
+	if (pos < end || start + end >= limit)
+	    return false;
+	int n = head.readChunk(start + end);
+	if (n <= 0)
+	    return false;
+	dbuf = head.chunk();
+	data = dbuf.array();
+	start += end;
+	end = n;
+	pos = 0;
+	return pos < avail();
+    }
+
+    @Override
+    public String readLine() throws IOException {
+	int n = nextLine();
+	return n < 0 ? null :
+	    new String(ldata, loff, n, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Return the next line as a view of the bytes in the buffer,
+     * or null at EOF.  The view is only valid until the next read.
+     */
+    Line readLineView() throws IOException {
+	int n = nextLine();
+	if (n < 0)
+	    return null;
+	view.set(ldata, loff, n);
+	return view;
+    }
+
+    /**
+     * Return the next line that contains the bytes in lit, skipping
+     * the lines before it without converting them to Strings.
+     * The buffer is searched for the first byte of lit and lines are
+     * only found around the places where lit matches.
+     * Return null at EOF.
+     */
+    public String readLineContaining(byte[] lit) throws IOException {
+	int n = 0;		// length of partial line
+	for (;;) {
+	    if (!fill()) {
+		if (n > 0 && indexOf(line, 0, n, lit) >= 0)
+		    return new String(line, 0, n, StandardCharsets.ISO_8859_1);
+		return null;
+	    }
+	    if (skipLF) {
+		skipLF = false;
+		if (data[pos] == '\n') {
+		    pos++;
+		    continue;
+		}
+	    }
+	    int e = avail();
+	    int h = find(lit, e);
+	    if (h < 0) {
+		// no match; save the start of the last line for next time
+		int t = ByteScanner.lastIndexOfEOL(data, pos, e);
+		if (t >= 0) {
+		    n = 0;
+		    skipLF = data[t] == '\r' && t == e - 1;
+		    pos = t + 1;
+		}
+		n = append(n, e);
+		pos = e;
+		continue;
+	    }
+	    // found a possible match, read the line containing it
+	    int t = ByteScanner.lastIndexOfEOL(data, pos, h);
+	    if (t >= 0) {
+		n = 0;
+		pos = t + 1;
+	    }
+	    n = nextLine(n);
+	    if (indexOf(ldata, loff, n, lit) >= 0)
+		return new String(ldata, loff, n, StandardCharsets.ISO_8859_1);
+	    n = 0;
+	}
+    }
+
+    /**
+     * Find the first place between pos and e where lit matches, or
+     * might match if it runs past e.  Return -1 if none.
+     */
+    private int find(byte[] lit, int e) {
+	int i = pos;
+	while ((i = ByteScanner.indexOf(dbuf, i, e, lit[0])) >= 0) {
+	    int k = 1;
+	    while (k < lit.length && i + k < e && data[i + k] == lit[k])
+		k++;
+	    if (k == lit.length || i + k == e)
+		return i;
+	    i++;
+	}
+	return -1;
+    }
+
+    /**
+     * Find the next line, with the line terminator removed.
+     * The line is left in ldata starting at loff.
+     * Return the length of the line, or -1 at EOF.
+     */
+    private int nextLine() throws IOException {
+	return nextLine(0);
+    }
+
+    /**
+     * Find the rest of the line, after the partial line of length n.
+     */
+    private int nextLine(int n) throws IOException {
+	for (;;) {
+	    if (!fill()) {
+		ldata = line;
+		loff = 0;
+		return n > 0 ? n : -1;
+	    }
+	    if (skipLF) {
+		skipLF = false;
+		if (data[pos] == '\n') {
+		    pos++;
+		    continue;
+		}
+	    }
+	    int e = avail();
+	    int i = ByteScanner.indexOfEOL(dbuf, pos, e);
+	    if (i < e) {
+		if (n == 0) {
+		    ldata = data;
+		    loff = pos;
+		    n = i - pos;
+		} else {
+		    n = append(n, i);
+		    ldata = line;
+		    loff = 0;
+		}
+		skipLF = data[i] == '\r';
+		pos = i + 1;
+		return n;
+	    }
+	    n = append(n, e);
+	    pos = e;
+	}
+    }
+
+    /**
+     * Append data from pos to e to the partial line of length n.
+     */
+    private int append(int n, int e) {
+	int k = e - pos;
+	if (n + k > line.length) {
+	    byte[] nl = new byte[Math.max(line.length * 2, n + k)];
+	    System.arraycopy(line, 0, nl, 0, n);
+	    line = nl;
+	}
+	System.arraycopy(data, pos, line, n, k);
+	return n + k;
+    }
+
+    /**
+     * Return the index of lit in b between off and off + len, or -1.
+     */
+    private static int indexOf(byte[] b, int off, int len, byte[] lit) {
+	byte first = lit[0];
+	int max = off + len - lit.length;
+	for (int i = off; i <= max; i++) {
+	    if (b[i] != first)
+		continue;
+	    int k = 1;
+	    while (k < lit.length && b[i + k] == lit[k])
+		k++;
+	    if (k == lit.length)
+		return i;
+	}
+	return -1;
+    }
+
+    @Override
+    public int read() throws IOException {
+	for (;;) {
+	    if (!fill())
+		return -1;
+	    if (skipLF) {
+		skipLF = false;
+		if (data[pos] == '\n') {
+		    pos++;
+		    continue;
+		}
+	    }
+	    return data[pos++] & 0xff;
+	}
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+	if (len == 0)
+	    return 0;
+	int n = 0;
+	while (n < len) {
+	    if (n > 0 && pos >= avail())
+		break;		// don't block for more
+	    int ch = read();
+	    if (ch < 0)
+		break;
+	    cbuf[off + n++] = (char)ch;
+	}
+	return n > 0 ? n : -1;
+    }
+
+    @Override
+    public boolean ready() {
+	return pos < avail();
+    }
+
+    @Override
+    public boolean markSupported() {
+	return false;
+    }
+
+    @Override
+    public void mark(int readAheadLimit) throws IOException {
+	throw new IOException("mark not supported");
+    }
+
+    @Override
+    public void reset() throws IOException {
+	throw new IOException("reset not supported");
+    }
+
+    /**
+     * The file is closed by the HeadBuffer.
+     */
+    @Override
+    public void close() {
+    }
+
+    /**
+     * A line in the buffer, viewed as chars without copying it.
+     */
+    static final class Line implements CharSequence {
+	private byte[] b;
+	private int off;
+	private int len;
+
+	void set(byte[] b, int off, int len) {
+	    this.b = b;
+	    this.off = off;
+	    this.len = len;
+	}
+
+	/**
+	 * Remove trailing spaces and tabs, like AbstractCopyright.strip.
+	 */
+	void strip() {
+	    while (len > 0 && (b[off + len - 1] == ' ' ||
+				b[off + len - 1] == '\t'))
+		len--;
+	}
+
+	/**
+	 * Append the chars from start to end to sb.
+	 */
+	void appendTo(StringBuilder sb, int start, int end) {
+	    for (int i = off + start; i < off + end; i++)
+		sb.append((char)(b[i] & 0xff));
+	}
+
+	public int length() {
+	    return len;
+	}
+
+	public char charAt(int index) {
+	    if (index < 0 || index >= len)
+		throw new IndexOutOfBoundsException(String.valueOf(index));
+	    return (char)(b[off + index] & 0xff);
+	}
+
+	public CharSequence subSequence(int start, int end) {
+	    return toString().substring(start, end);
+	}
+
+	@Override
+	public String toString() {
+	    return new String(b, off, len, StandardCharsets.ISO_8859_1);
+	}
+    }
+}
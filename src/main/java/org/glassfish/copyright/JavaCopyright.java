@@ -1,6 +1,6 @@
 /*
  * Copyright (c) 2010, 2018 Oracle and/or its affiliates. All rights reserved.
- * Copyright (c) 2020 Contributors to Eclipse Foundation. All rights reserved.
+ * Copyright (c) 2020, 2026 Contributors to Eclipse Foundation. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -36,21 +36,28 @@ public class JavaCopyright extends CommonCopyright {
     }
 
     /**
-     * Does this class support this file?
+     * The extensions of files with Java syntax.
      */
-    protected boolean supports(File file) {
-	String fname = file.getName();
-	if (fname.endsWith(".java") || fname.endsWith(".g") ||
-		fname.endsWith(".c") || fname.endsWith(".h") ||
-		fname.endsWith(".css") || fname.endsWith(".js")) {
-	    return true;
-	}
-	if (startsWith(file, "/*\n"))
-	    return true;
-	return false;
+    protected String[] getExtensions() {
+	return new String[] { ".java", ".g", ".c", ".h", ".css", ".js" };
     }
 
-    protected boolean isPreamble(String line) {
-	return line.startsWith("package ");
+    /**
+     * Does this other file have Java syntax?
+     */
+    protected boolean supports(File file, HeadBuffer head) {
+	return head.startsWith("/*\n");
+    }
+
+    protected boolean isEnabled() {
+	return c.doJava;
+    }
+
+    protected String getFileType() {
+	return "a Java file";
+    }
+
+    protected boolean isPreamble(CharSequence line) {
+	return lineStartsWith(line, "package ");
     }
 }
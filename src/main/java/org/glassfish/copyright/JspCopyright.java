@@ -1,6 +1,6 @@
 /*
  * Copyright (c) 2010, 2018 Oracle and/or its affiliates. All rights reserved.
- * Copyright (c) 2020 Contributors to Eclipse Foundation. All rights reserved.
+ * Copyright (c) 2020, 2026 Contributors to Eclipse Foundation. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -23,8 +23,6 @@
 
 package org.glassfish.copyright;
 
-import java.io.*;
-
 public class JspCopyright extends CommonCopyright {
     public JspCopyright(Copyright c) {
 	super(c);
@@ -34,9 +32,17 @@ public class JspCopyright extends CommonCopyright {
     }
 
     /**
-     * Is this a JSP file?
+     * The extension of JSP files.
      */
-    protected boolean supports(File file) {
-	return file.getName().endsWith(".jsp");
+    protected String[] getExtensions() {
+	return new String[] { ".jsp" };
+    }
+
+    protected boolean isEnabled() {
+	return c.doXml;
+    }
+
+    protected String getFileType() {
+	return "a JSP file";
     }
 }
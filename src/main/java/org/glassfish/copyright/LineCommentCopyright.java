@@ -0,0 +1,295 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+/**
+ * Common support for files with comment syntax that marks each line
+ * of the comment, e.g., "# comment".
+ * The subclass describes the syntax by setting the fields below.
+ */
+
+package org.glassfish.copyright;
+
+import java.io.*;
+
+public abstract class LineCommentCopyright extends AbstractCopyright {
+    public LineCommentCopyright(Copyright c) {
+	super(c);
+    }
+
+    // must be initialized by subclass
+    // the start of each line in the comment
+    protected String commentMarker;
+    // the prefix removed from each line of the comment text
+    protected String commentPrefix;
+    // removed from the end of each line of the comment text, if not null
+    protected String commentSuffix;
+    // an empty comment line before and after the comment, if not null
+    protected String emptyComment;
+    // lines starting with these are kept before the comment
+    protected String[] headerLines = new String[0];
+    // a quote in the comment text is written as quoteEscape, if not null
+    protected String quote;
+    protected String quoteEscape;
+
+    /**
+     * Read the first comment block in the file.
+     */
+    protected String readComment(BufferedReader r) throws IOException {
+	StringBuilder comment = CheckContext.get().comment;
+	comment.setLength(0);
+	CharSequence line;
+	// skip blank lines at beginning of file
+	while ((line = readLine(r, true)) != null) {
+	    if (skipHeaderLine(line))
+		continue;
+	    if (isEmptyComment(line))
+		continue;
+	    if (line.length() != 0)
+		break;
+	}
+	if (line == null || !lineStartsWith(line, commentMarker))
+	    return null;
+	do {
+	    if (line.length() == 0)
+		break;		// end of comment
+	    if (!lineStartsWith(line, commentMarker))
+		break;		// end of comment
+	    int start = 0;
+	    int end = line.length();
+	    if (end >= commentPrefix.length()) {
+		if (lineStartsWith(line, commentPrefix))
+		    start = commentPrefix.length();
+	    } else {
+		if (lineStartsWith(commentPrefix, line))
+		    start = end;
+	    }
+	    if (commentSuffix != null && end - start >= commentSuffix.length() &&
+		    regionMatches(line, end - commentSuffix.length(),
+					commentSuffix))
+		end -= commentSuffix.length();
+	    while (end > start && (line.charAt(end - 1) == ' ' ||
+				    line.charAt(end - 1) == '\t'))
+		end--;
+	    for (int i = start; i < end; i++) {
+		if (quoteEscape != null && i + quoteEscape.length() <= end &&
+			regionMatches(line, i, quoteEscape)) {
+		    comment.append(quote);
+		    i += quoteEscape.length() - 1;
+		} else
+		    comment.append(line.charAt(i));
+	    }
+	    comment.append('\n');
+	} while ((line = readLine(r, false)) != null);
+	int len = comment.length();
+	if (len >= 2 && comment.charAt(len - 1) == '\n' &&
+		comment.charAt(len - 2) == '\n')
+	    comment.setLength(len - 1);
+	return comment.toString();
+    }
+
+    /**
+     * Read a line, stripped if requested.  Lines are read from the
+     * buffer without copying them if possible.
+     */
+    private static CharSequence readLine(BufferedReader r, boolean strip)
+				throws IOException {
+	if (r instanceof HeadReader) {
+	    HeadReader.Line line = ((HeadReader)r).readLineView();
+	    if (line != null && strip)
+		line.strip();
+	    return line;
+	}
+	String line = r.readLine();
+	return line != null && strip ? strip(line) : line;
+    }
+
+    /**
+     * Does s contain str at index i?
+     */
+    private static boolean regionMatches(CharSequence s, int i, String str) {
+	if (i + str.length() > s.length())
+	    return false;
+	for (int k = 0; k < str.length(); k++) {
+	    if (s.charAt(i + k) != str.charAt(k))
+		return false;
+	}
+	return true;
+    }
+
+    /**
+     * Skip the first comment block, replacing it with the correct copyright.
+     */
+    protected void replaceCopyright(BufferedReader in,
+			BufferedWriter out, String comment, String lastChanged)
+			throws IOException {
+	String line;
+	StringBuilder header = new StringBuilder();
+	// skip blank lines at beginning of file
+	while ((line = in.readLine()) != null) {
+	    line = strip(line);
+	    if (skipHeaderLine(line)) {
+		header.append(line).append('\n');
+		continue;
+	    }
+	    if (comment != null && isEmptyComment(line))
+		continue;
+	    if (line.length() != 0)
+		break;
+	}
+
+	if (header.length() > 0)
+	    out.write(header.toString());
+	if (comment != null && line != null &&
+		line.startsWith(commentMarker)) {
+	    boolean sawCopyright = false;
+	    do {
+		if (line.length() == 0)
+		    break;		// end of comment
+		if (!line.startsWith(commentMarker))
+		    break;		// end of comment
+		if (!sawCopyright && line.indexOf("Copyright") >= 0) {
+		    CopyrightLine cl = CheckContext.get().copyrightLine;
+		    if (cl.find(line)) {
+			lastChanged = addCopyrightDate(cl.year(line),
+							lastChanged);
+			sawCopyright = true;
+		    }
+		}
+	    } while ((line = in.readLine()) != null);
+	}
+	writeCopyright(out, lastChanged, comment);
+
+	if (line != null) {
+	    // the new copyright ends with a blank line so don't write another
+	    if (line.length() > 0) {
+		out.write(line);
+		out.write('\n');		// line terminator
+	    }
+	    // have to copy the rest here so that blanks aren't skipped
+	    copy(in, out, false);
+	}
+    }
+
+    /**
+     * Update the existing copyright statement, changing the copyright
+     * year to include lastChanged.
+     */
+    protected void updateCopyright(BufferedReader in,
+				BufferedWriter out, String lastChanged)
+				throws IOException {
+	String line;
+	StringBuilder header = new StringBuilder();
+	// skip blank lines at beginning of file
+	while ((line = in.readLine()) != null) {
+	    line = strip(line);
+	    if (skipHeaderLine(line)) {
+		header.append(line).append('\n');
+		continue;
+	    }
+	    if (isEmptyComment(line))
+		continue;
+	    if (line.length() != 0)
+		break;
+	}
+	if (line == null)
+	    throw new IOException("NO CONTENT, repair failed");
+
+	if (header.length() > 0)
+	    out.write(header.toString());
+	if (emptyComment != null) {
+	    out.write(emptyComment);	// start with an empty comment line
+	    out.write('\n');
+	}
+	if (line.startsWith(commentMarker)) {
+	    boolean updated = false;
+	    do {
+		if (!line.startsWith(commentMarker))
+		    break;		// end of comment
+		if (!updated && line.indexOf("Copyright") >= 0) {
+		    CopyrightLine cl = CheckContext.get().copyrightLine;
+		    if (cl.find(line)) {
+			String y = addCopyrightDate(cl.year(line),
+						    lastChanged);
+			line = line.substring(0, cl.yearStart) + y +
+					    line.substring(cl.yearEnd);
+			updated = true;
+		    }
+		}
+		out.write(line);
+		out.write('\n');
+	    } while ((line = in.readLine()) != null);
+	}
+	if (line != null) {
+	    if (line.length() != 0)
+		out.write('\n');	// make sure there's a blank line
+	    out.write(line);
+	    out.write('\n');		// line terminator
+	    // have to copy the rest here so that blanks aren't skipped
+	    copy(in, out, false);
+	}
+    }
+
+    /**
+     * Convert the comment text to this syntax.
+     */
+    protected String toComment(String comment) {
+	BufferedReader r = new BufferedReader(new StringReader(comment));
+	StringBuilder out = new StringBuilder();
+	try {
+	    if (emptyComment != null)
+		out.append(emptyComment).append('\n');
+	    String line;
+	    while ((line = r.readLine()) != null) {
+		line = strip(line);
+		if (quoteEscape != null)
+		    line = line.replace(quote, quoteEscape);
+		if (commentSuffix != null)
+		    out.append(commentPrefix).append(line).
+			append(commentSuffix).append('\n');
+		else
+		    out.append(strip(commentPrefix + line)).append('\n');
+	    }
+	    if (emptyComment != null)
+		out.append(emptyComment).append('\n');
+	    out.append('\n');
+	} catch (IOException ioex) {
+	    // can't happen
+	} finally {
+	    try {
+		r.close();
+	    } catch (IOException ex) { }
+	}
+	return out.toString();
+    }
+
+    /**
+     * Is this an empty comment line?
+     */
+    protected boolean isEmptyComment(CharSequence line) {
+	return emptyComment != null && emptyComment.contentEquals(line);
+    }
+
+    /**
+     * Skip this header line?
+     */
+    protected boolean skipHeaderLine(CharSequence line) {
+	for (String h : headerLines) {
+	    if (lineStartsWith(line, h))
+		return true;
+	}
+	return false;
+    }
+}
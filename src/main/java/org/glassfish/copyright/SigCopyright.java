@@ -1,5 +1,6 @@
 /*
  * Copyright (c) 2010, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -27,20 +28,24 @@ import java.io.File;
 public class SigCopyright extends PropertiesCopyright {
     public SigCopyright(Copyright c) {
 	super(c);
+	headerLines = new String[] { "#Signature", "#Version" };
     }
 
     /**
-     * Is this a jtharness signature file?
+     * The extension of jtharness signature files.
      */
-    protected boolean supports(File file) {
-	String fname = file.getName();
-	return fname.endsWith(".sig");
+    protected String[] getExtensions() {
+	return new String[] { ".sig" };
     }
 
     /**
-     * Skip this header line?
+     * Only files with the .sig extension are signature files.
      */
-    protected boolean skipHeaderLine(String line) {
-	return line.startsWith("#Signature") || line.startsWith("#Version");
+    protected boolean supports(File file, HeadBuffer head) {
+	return false;
+    }
+
+    protected String getFileType() {
+	return "a signature file";
     }
 }
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+/**
+ * Parse an SPDX license expression, such as
+ * "EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0", into a canonical
+ * form, so that expressions naming the same licenses compare equal.
+ * License identifiers are compared without regard to case, and the
+ * operands of AND and OR in any order.
+ */
+
+package org.glassfish.copyright;
+
+import java.util.*;
+
+final class SpdxExpression {
+    private final String expr;
+    private int pos;
+
+    /**
+     * A license, or licenses combined with AND or OR.
+     */
+    private static final class Term {
+	final String op;	// "AND", "OR", or null for a license
+	final Set<String> operands = new TreeSet<String>();
+
+	Term(String op) {
+	    this.op = op;
+	}
+
+	/**
+	 * Add the term as an operand, flattening nested uses of op.
+	 */
+	void add(Term t) {
+	    if (t.op == null || t.op.equals(op) || t.operands.size() == 1)
+		operands.addAll(t.operands);
+	    else
+		operands.add("(" + t + ")");
+	}
+
+	@Override
+	public String toString() {
+	    StringBuilder sb = new StringBuilder();
+	    for (String o : operands) {
+		if (sb.length() > 0)
+		    sb.append(' ').append(op).append(' ');
+		sb.append(o);
+	    }
+	    return sb.toString();
+	}
+    }
+
+    private SpdxExpression(String expr) {
+	this.expr = expr;
+    }
+
+    /**
+     * The canonical form of the expression, or null if it isn't
+     * a valid expression.
+     */
+    static String canonical(String expr) {
+	SpdxExpression p = new SpdxExpression(expr);
+	Term t = p.or();
+	if (t == null || p.token() != null)
+	    return null;
+	return t.toString();
+    }
+
+    /**
+     * or := and ("OR" and)*
+     */
+    private Term or() {
+	Term a = and();
+	if (a == null || !accept("OR"))
+	    return a;
+	Term t = new Term("OR");
+	t.add(a);
+	do {
+	    a = and();
+	    if (a == null)
+		return null;
+	    t.add(a);
+	} while (accept("OR"));
+	return t;
+    }
+
+    /**
+     * and := with ("AND" with)*
+     */
+    private Term and() {
+	Term w = with();
+	if (w == null || !accept("AND"))
+	    return w;
+	Term t = new Term("AND");
+	t.add(w);
+	do {
+	    w = with();
+	    if (w == null)
+		return null;
+	    t.add(w);
+	} while (accept("AND"));
+	return t;
+    }
+
+    /**
+     * with := simple ("WITH" id)?
+     */
+    private Term with() {
+	Term s = simple();
+	if (s == null || !accept("WITH"))
+	    return s;
+	String ex = token();
+	if (s.op != null || !isId(ex))
+	    return null;	// only a license can have an exception
+	pos += ex.length();
+	Term t = new Term(null);
+	t.operands.add(s + " WITH " + ex.toUpperCase(Locale.ROOT));
+	return t;
+    }
+
+    /**
+     * simple := id | "(" or ")"
+     */
+    private Term simple() {
+	if (accept("(")) {
+	    Term t = or();
+	    if (t == null || !accept(")"))
+		return null;
+	    return t;
+	}
+	String id = token();
+	if (!isId(id))
+	    return null;
+	pos += id.length();
+	Term t = new Term(null);
+	t.operands.add(id.toUpperCase(Locale.ROOT));
+	return t;
+    }
+
+    /**
+     * Is the token a license or exception identifier?
+     */
+    private static boolean isId(String t) {
+	return t != null && t.length() > 0 && !t.equals("(") &&
+	    !t.equals(")") &&
+	    !t.equals("AND") && !t.equals("OR") && !t.equals("WITH");
+    }
+
+    /**
+     * If the next token is t, skip it.
+     */
+    private boolean accept(String t) {
+	if (!t.equals(token()))
+	    return false;
+	pos += t.length();
+	return true;
+    }
+
+    /**
+     * The next token, without skipping it, or null at the end.
+     * Skips any white space before the token.
+     */
+    private String token() {
+	while (pos < expr.length() && Character.isWhitespace(expr.charAt(pos)))
+	    pos++;
+	if (pos >= expr.length())
+	    return null;
+	char c = expr.charAt(pos);
+	if (c == '(' || c == ')')
+	    return String.valueOf(c);
+	int end = pos;
+	while (end < expr.length() && isIdChar(expr.charAt(end)))
+	    end++;
+	if (end == pos)
+	    return "";	// not a valid token
+	return expr.substring(pos, end);
+    }
+
+    /**
+     * Letters, digits, ".", "-", and "+" after a license, and ":" in
+     * a "DocumentRef-x:LicenseRef-y" reference.
+     */
+    private static boolean isIdChar(char c) {
+	return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') ||
+	    (c >= '0' && c <= '9') || c == '.' || c == '-' || c == '+' ||
+	    c == ':';
+    }
+}
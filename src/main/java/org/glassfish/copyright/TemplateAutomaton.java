@@ -0,0 +1,678 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+/**
+ * All the copyright templates, combined into one automaton that finds
+ * every template matching a comment in a single pass over the comment.
+ *
+ * The template patterns built by AbstractCopyright match a comment
+ * line by line.  Each line of a template matches either one literal
+ * line, or one or more copyright lines, each optionally followed by
+ * an "All rights reserved." line.  The input to the automaton is the
+ * lines of the comment, each classified by which template line it is
+ * equal to, and whether it's a copyright line or an "All rights reserved."
+ * line.  The deterministic states are built as they're needed.
+ * Templates that aren't in this form are matched using the regular
+ * expression.
+ *
+ * Each template also has a few distinctive literal lines that every
+ * comment matching the template must contain.  The lines of a comment
+ * are first looked up in a table of these required lines, and only
+ * the templates whose required lines are all present are candidates
+ * for the automaton.
+ *
+ * Many files have the same header, differing only in the copyright
+ * lines.  The automaton only cares whether a line is a copyright line,
+ * so the results are remembered for recent comments with their
+ * copyright lines masked out.
+ *
+ * The automaton is shared by all the threads checking files.  The
+ * deterministic states and remembered results are kept for each thread.
+ */
+
+package org.glassfish.copyright;
+
+import java.util.*;
+import java.util.regex.*;
+
+class TemplateAutomaton {
+    // what a line must be to take a transition
+    private static final int LITERAL = 0;	// a literal template line
+    private static final int COPYRIGHT = 1;	// a copyright line
+    private static final int RESERVED = 2;	// "All rights reserved."
+
+    // start over if there are more deterministic states than this
+    private static final int MAX_STATES = 10000;
+    // the number of required lines to use for each template
+    private static final int MAX_REQUIRED = 2;
+    // the number of comments to remember the results for
+    private static final int CACHE_SIZE = 1000;
+
+    private static final String COPYRIGHT_LINES =
+	AbstractCopyright.COPYRIGHT_LINES + "\n";
+    private static final String RESERVED_LINE = "All rights reserved";
+
+    private final Map<Pattern, Integer> index =
+	new IdentityHashMap<Pattern, Integer>();
+    private final boolean[] useRegex;	// match this template using the regex
+
+    // the nondeterministic automaton, built from the templates
+    private final List<int[]> trans = new ArrayList<int[]>();
+			// {kind, literal, target} for each transition
+    private final List<List<Integer>> epsilon = new ArrayList<List<Integer>>();
+    private final List<Integer> accept = new ArrayList<Integer>();
+			// template matched at this position, or -1
+    private final int[] startPositions;	// for each template, or -1
+    // the positions reachable from each position without reading a line
+    private final BitSet[] closure;
+
+    // the literal lines each template requires, to find the candidates
+    private final int[][] required;	// literal numbers for each template
+    private boolean[] isRequired;	// is the literal required by any?
+
+    // the literal template lines, numbered
+    private final Map<String, Integer> literalIds =
+	new HashMap<String, Integer>();
+    private final String[] literalTable;	// hash table of literals
+    private final int[] literalTableIds;
+
+    // remember results by masked comment?  Not if a template line
+    // is a copyright line
+    private final boolean cacheable;
+
+    private final ThreadLocal<Dfa> dfas = new ThreadLocal<Dfa>() {
+	@Override
+	protected Dfa initialValue() {
+	    return new Dfa();
+	}
+    };
+
+    /**
+     * A set of positions in the nondeterministic automaton.
+     */
+    private static final class State {
+	final BitSet positions;
+	final BitSet accepts = new BitSet();	// templates matched here
+	boolean copyright;	// transitions for copyright lines?
+	boolean reserved;	// transitions for "All rights reserved."?
+	State[] next;		// indexed by the class of the next line
+
+	State(BitSet positions) {
+	    this.positions = positions;
+	}
+    }
+
+    /**
+     * A template parsed into lines.
+     */
+    private static final class Template {
+	boolean netbeans;	// optional NetBeans template text first
+	boolean copyrights;	// optional copyright lines and blank line next
+	// literal lines, or null for one or more copyright lines
+	final List<String> lines = new ArrayList<String>();
+    }
+
+    /**
+     * The templates that match a comment.
+     */
+    final class Result {
+	private final String comment;
+	private final BitSet full;	// templates matching the whole comment
+	private final BitSet prefix;	// templates matching the start
+
+	private Result(String comment, BitSet full, BitSet prefix) {
+	    this.comment = comment;
+	    this.full = full;
+	    this.prefix = prefix;
+	}
+
+	/**
+	 * Does the template match the whole comment?  If prefix is true,
+	 * does it match the start of the comment?
+	 */
+	boolean matches(Pattern pat, boolean prefix) {
+	    Integer t = index.get(pat);
+	    if (t == null || useRegex[t]) {
+		Matcher m = CheckContext.get().matcher(pat, comment);
+		return prefix ? m.find() && m.start() == 0 : m.matches();
+	    }
+	    return (prefix ? this.prefix : full).get(t);
+	}
+    }
+
+    /**
+     * Build the automaton for the template patterns.
+     */
+    TemplateAutomaton(List<Pattern> patterns) {
+	int ntemplates = patterns.size();
+	useRegex = new boolean[ntemplates];
+	startPositions = new int[ntemplates];
+	required = new int[ntemplates][];
+	List<Template> tmpls = new ArrayList<Template>();
+	for (int t = 0; t < ntemplates; t++) {
+	    Pattern pat = patterns.get(t);
+	    if (index.containsKey(pat)) {
+		// the same template again, matched by its first use
+		tmpls.add(null);
+		startPositions[t] = -1;
+		continue;
+	    }
+	    index.put(pat, t);
+	    Template tmpl = parse(pat.pattern());
+	    tmpls.add(tmpl);
+	    if (tmpl == null) {
+		useRegex[t] = true;
+		startPositions[t] = -1;
+	    } else
+		startPositions[t] = add(tmpl, t);
+	}
+	chooseRequired(tmpls);
+
+	// compute the closures of the positions
+	int n = trans.size();
+	closure = new BitSet[n];
+	for (int p = 0; p < n; p++) {
+	    BitSet b = new BitSet();
+	    Deque<Integer> todo = new ArrayDeque<Integer>();
+	    todo.push(p);
+	    while (!todo.isEmpty()) {
+		int q = todo.pop();
+		if (b.get(q))
+		    continue;
+		b.set(q);
+		for (int e : epsilon.get(q))
+		    todo.push(e);
+	    }
+	    closure[p] = b;
+	}
+
+	// a hash table of the literals, for looking up part of a string
+	int size = Integer.highestOneBit(literalIds.size() * 2 + 1) * 2;
+	literalTable = new String[size];
+	literalTableIds = new int[size];
+	for (Map.Entry<String, Integer> e : literalIds.entrySet()) {
+	    String lit = e.getKey();
+	    int i = hash(lit, 0, lit.length()) & (size - 1);
+	    while (literalTable[i] != null)
+		i = (i + 1) & (size - 1);
+	    literalTable[i] = lit;
+	    literalTableIds[i] = e.getValue();
+	}
+
+	// masking copyright lines would hide a match of such a template line
+	boolean cr = false;
+	for (String lit : literalIds.keySet()) {
+	    if (isCopyrightLine(lit, 0, lit.length())) {
+		cr = true;
+		break;
+	    }
+	}
+	cacheable = !cr;
+    }
+
+    /**
+     * Choose the required lines for each template.  The lines in the
+     * fewest templates are the most distinctive; the longest are used
+     * when there's a choice.  Blank lines aren't distinctive, and lines
+     * in the optional parts of a template aren't required.
+     */
+    private void chooseRequired(List<Template> tmpls) {
+	final Map<String, Integer> uses = new HashMap<String, Integer>();
+	for (Template tmpl : tmpls) {
+	    if (tmpl == null)
+		continue;
+	    for (String line : new HashSet<String>(tmpl.lines)) {
+		if (line != null && line.length() > 0) {
+		    Integer n = uses.get(line);
+		    uses.put(line, n == null ? 1 : n + 1);
+		}
+	    }
+	}
+	isRequired = new boolean[literalIds.size()];
+	for (int t = 0; t < tmpls.size(); t++) {
+	    Template tmpl = tmpls.get(t);
+	    if (tmpl == null) {
+		required[t] = new int[0];
+		continue;
+	    }
+	    List<String> lines = new ArrayList<String>(
+				    new LinkedHashSet<String>(tmpl.lines));
+	    lines.removeAll(Arrays.asList(null, ""));
+	    Collections.sort(lines, new Comparator<String>() {
+		@Override
+		public int compare(String l1, String l2) {
+		    int c = uses.get(l1) - uses.get(l2);
+		    return c != 0 ? c : l2.length() - l1.length();
+		}
+	    });
+	    int n = Math.min(lines.size(), MAX_REQUIRED);
+	    required[t] = new int[n];
+	    for (int i = 0; i < n; i++) {
+		int id = literalIds.get(lines.get(i));
+		required[t][i] = id;
+		isRequired[id] = true;
+	    }
+	}
+    }
+
+    /**
+     * Parse the pattern created by TemplateSet.readCopyrightStream
+     * into lines.  Return null if the pattern isn't in the expected form.
+     */
+    private static Template parse(String re) {
+	Template tmpl = new Template();
+	int i = 0;
+	if (re.startsWith(AbstractCopyright.NETBEANS_PATTERN, i)) {
+	    tmpl.netbeans = true;
+	    i += AbstractCopyright.NETBEANS_PATTERN.length();
+	}
+	if (re.startsWith(AbstractCopyright.OPTIONAL_COPYRIGHT_LINES, i)) {
+	    tmpl.copyrights = true;
+	    i += AbstractCopyright.OPTIONAL_COPYRIGHT_LINES.length();
+	}
+	while (i < re.length()) {
+	    if (re.startsWith(COPYRIGHT_LINES, i)) {
+		tmpl.lines.add(null);
+		i += COPYRIGHT_LINES.length();
+		continue;
+	    }
+	    // a line quoted by Pattern.quote
+	    if (!re.startsWith("\\Q", i))
+		return null;
+	    i += 2;
+	    StringBuilder line = new StringBuilder();
+	    for (;;) {
+		int e = re.indexOf("\\E", i);
+		if (e < 0)
+		    return null;
+		line.append(re, i, e);
+		i = e + 2;
+		// an embedded "\E" is quoted as "\E\\E\Q"
+		if (!re.startsWith("\\\\E\\Q", i))
+		    break;
+		line.append("\\E");
+		i += 5;
+	    }
+	    if (!re.startsWith("\n", i) || line.indexOf("\n") >= 0)
+		return null;
+	    i++;
+	    tmpl.lines.add(line.toString());
+	}
+	if (tmpl.lines.isEmpty())
+	    return null;
+	return tmpl;
+    }
+
+    /**
+     * Add the positions for the template, which is template number t.
+     * Return the starting position.
+     */
+    private int add(Template tmpl, int t) {
+	int start = position();
+	int p = start;
+	if (tmpl.netbeans) {
+	    int end = position();
+	    epsilon(p, end);
+	    String[] lines = AbstractCopyright.NETBEANS_TEXT.split("\n", -1);
+	    for (int i = 0; i < lines.length - 1; i++) {
+		int q = i == lines.length - 2 ? end : position();
+		literal(p, lines[i], q);
+		p = q;
+	    }
+	}
+	if (tmpl.copyrights) {
+	    int end = position();
+	    epsilon(p, end);
+	    p = copyrights(p);
+	    literal(p, "", end);
+	    p = end;
+	}
+	for (String line : tmpl.lines) {
+	    if (line == null) {
+		p = copyrights(p);
+	    } else {
+		int q = position();
+		literal(p, line, q);
+		p = q;
+	    }
+	}
+	accept.set(p, t);
+	return start;
+    }
+
+    /**
+     * Add positions for one or more copyright lines, each optionally
+     * followed by an "All rights reserved." line, starting at p.
+     * Return the position after the copyright lines.
+     */
+    private int copyrights(int p) {
+	int c1 = position();
+	int c2 = position();
+	transition(p, COPYRIGHT, -1, c1);
+	transition(c1, RESERVED, -1, c2);
+	epsilon(c1, c2);
+	transition(c2, COPYRIGHT, -1, c1);
+	return c2;
+    }
+
+    private int position() {
+	trans.add(new int[0]);
+	epsilon.add(new ArrayList<Integer>());
+	accept.add(-1);
+	return trans.size() - 1;
+    }
+
+    private void literal(int from, String line, int to) {
+	Integer id = literalIds.get(line);
+	if (id == null) {
+	    id = literalIds.size();
+	    literalIds.put(line, id);
+	}
+	transition(from, LITERAL, id, to);
+    }
+
+    private void transition(int from, int kind, int literal, int to) {
+	int[] t = trans.get(from);
+	int[] nt = Arrays.copyOf(t, t.length + 3);
+	nt[t.length] = kind;
+	nt[t.length + 1] = literal;
+	nt[t.length + 2] = to;
+	trans.set(from, nt);
+    }
+
+    private void epsilon(int from, int to) {
+	epsilon.get(from).add(to);
+    }
+
+    /**
+     * Match the comment against all the templates.
+     */
+    Result match(String comment) {
+	return dfas.get().match(comment);
+    }
+
+    /**
+     * The number of the first line of the comment that can't match
+     * the template, starting at 1, or 0 if the comment matches the
+     * template or the template can't be matched line by line.
+     * If the comment ends too soon, it's the number of the line after
+     * the last line of the comment.
+     */
+    int firstMismatch(Pattern pat, String comment) {
+	Integer t = index.get(pat);
+	if (t == null || useRegex[t])
+	    return 0;
+	return dfas.get().firstMismatch(t, comment);
+    }
+
+    /**
+     * The comment with each copyright line replaced by a marker.
+     * Each line starts with a character saying whether it's masked,
+     * so no other line can look like the marker.
+     */
+    private static String maskCopyrights(String comment) {
+	StringBuilder key = new StringBuilder(comment.length() + 32);
+	int pos = 0;
+	int nl;
+	while ((nl = comment.indexOf('\n', pos)) >= 0) {
+	    if (isCopyrightLine(comment, pos, nl))
+		key.append('C');
+	    else
+		key.append('L').append(comment, pos, nl);
+	    key.append('\n');
+	    pos = nl + 1;
+	}
+	key.append('P').append(comment, pos, comment.length());
+	return key.toString();
+    }
+
+    /**
+     * The deterministic states, and the results for recent comments,
+     * for one thread.
+     */
+    private final class Dfa {
+	// the deterministic states built so far
+	private final Map<BitSet, State> states = new HashMap<BitSet, State>();
+	// the start state for each set of candidate templates
+	private final Map<BitSet, State> starts = new HashMap<BitSet, State>();
+	private int[] lineIds = new int[64];	// literal of each line
+
+	// the full and prefix results for recent comments, keyed by the
+	// masked comment; null if not cacheable
+	private final Map<String, BitSet[]> cache = !cacheable ? null :
+	    new LinkedHashMap<String, BitSet[]>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(
+				    Map.Entry<String, BitSet[]> eldest) {
+		    return size() > CACHE_SIZE;
+		}
+	    };
+
+	/**
+	 * Match the comment against all the templates.
+	 */
+	Result match(String comment) {
+	    if (cache == null)
+		return classify(comment);
+	    String key = maskCopyrights(comment);
+	    BitSet[] r = cache.get(key);
+	    if (r != null)
+		return new Result(comment, r[0], r[1]);
+	    Result result = classify(comment);
+	    cache.put(key, new BitSet[] { result.full, result.prefix });
+	    return result;
+	}
+
+	/**
+	 * Match the comment against all the templates using the automaton.
+	 */
+	private Result classify(String comment) {
+	    // look up each line, noting the required lines
+	    BitSet seen = new BitSet();
+	    int nlines = 0;
+	    int pos = 0;
+	    int len = comment.length();
+	    int nl;
+	    while ((nl = comment.indexOf('\n', pos)) >= 0) {
+		int id = lookup(comment, pos, nl);
+		if (id >= 0 && isRequired[id])
+		    seen.set(id);
+		if (nlines == lineIds.length)
+		    lineIds = Arrays.copyOf(lineIds, nlines * 2);
+		lineIds[nlines++] = id;
+		pos = nl + 1;
+	    }
+	    // a partial last line can't match
+	    boolean complete = pos == len;
+
+	    // the candidates are the templates with all their required lines
+	    BitSet candidates = new BitSet();
+	    for (int t = 0; t < required.length; t++) {
+		if (startPositions[t] < 0)
+		    continue;
+		boolean found = true;
+		for (int id : required[t]) {
+		    if (!seen.get(id)) {
+			found = false;
+			break;
+		    }
+		}
+		if (found)
+		    candidates.set(t);
+	    }
+	    BitSet prefix = new BitSet();
+	    if (candidates.isEmpty())
+		return new Result(comment, new BitSet(), prefix);
+
+	    State s = start(candidates);
+	    pos = 0;
+	    for (int i = 0; i < nlines && !s.positions.isEmpty(); i++) {
+		nl = comment.indexOf('\n', pos);
+		s = next(s, comment, pos, nl, lineIds[i]);
+		pos = nl + 1;
+		prefix.or(s.accepts);
+	    }
+	    return new Result(comment,
+		complete && pos == len ? s.accepts : new BitSet(), prefix);
+	}
+
+	/**
+	 * The number of the first line of the comment that can't match
+	 * template t, or 0 if it matches.
+	 */
+	int firstMismatch(int t, String comment) {
+	    BitSet candidate = new BitSet();
+	    candidate.set(t);
+	    State s = start(candidate);
+	    int lineno = 0;
+	    int pos = 0;
+	    int nl;
+	    while ((nl = comment.indexOf('\n', pos)) >= 0) {
+		lineno++;
+		s = next(s, comment, pos, nl, lookup(comment, pos, nl));
+		if (s.positions.isEmpty())
+		    return lineno;
+		pos = nl + 1;
+	    }
+	    if (pos == comment.length() && s.accepts.get(t))
+		return 0;
+	    return lineno + 1;
+	}
+
+	/**
+	 * The start state for the candidate templates.
+	 */
+	private State start(BitSet candidates) {
+	    State s = starts.get(candidates);
+	    if (s == null) {
+		BitSet b = new BitSet();
+		for (int t = candidates.nextSetBit(0); t >= 0;
+			t = candidates.nextSetBit(t + 1))
+		    b.or(closure[startPositions[t]]);
+		s = state(b);
+		starts.put(candidates, s);
+	    }
+	    return s;
+	}
+
+	/**
+	 * The state after reading the line from "from" to "to" in s.
+	 * The line is equal to literal number lit, or -1 if none.
+	 */
+	private State next(State s, String line, int from, int to, int lit) {
+	    boolean cr = s.copyright && isCopyrightLine(line, from, to);
+	    boolean arr = s.reserved && isReservedLine(line, from, to);
+	    int cls = (lit + 1) * 4 + (cr ? 2 : 0) + (arr ? 1 : 0);
+	    if (s.next == null)
+		s.next = new State[(literalIds.size() + 1) * 4];
+	    State n = s.next[cls];
+	    if (n == null) {
+		BitSet np = new BitSet();
+		for (int p = s.positions.nextSetBit(0); p >= 0;
+			p = s.positions.nextSetBit(p + 1)) {
+		    int[] t = trans.get(p);
+		    for (int i = 0; i < t.length; i += 3) {
+			boolean ok;
+			if (t[i] == LITERAL)
+			    ok = t[i + 1] == lit;
+			else if (t[i] == COPYRIGHT)
+			    ok = cr;
+			else
+			    ok = arr;
+			if (ok)
+			    np.or(closure[t[i + 2]]);
+		    }
+		}
+		n = state(np);
+		s.next[cls] = n;
+	    }
+	    return n;
+	}
+
+	/**
+	 * The deterministic state for the set of positions.
+	 */
+	private State state(BitSet positions) {
+	    State s = states.get(positions);
+	    if (s == null) {
+		if (states.size() >= MAX_STATES) {
+		    states.clear();
+		    starts.clear();
+		}
+		s = new State(positions);
+		for (int p = positions.nextSetBit(0); p >= 0;
+			p = positions.nextSetBit(p + 1)) {
+		    if (accept.get(p) >= 0)
+			s.accepts.set(accept.get(p));
+		    int[] t = trans.get(p);
+		    for (int i = 0; i < t.length; i += 3) {
+			if (t[i] == COPYRIGHT)
+			    s.copyright = true;
+			else if (t[i] == RESERVED)
+			    s.reserved = true;
+		    }
+		}
+		states.put(positions, s);
+	    }
+	    return s;
+	}
+    }
+
+    /**
+     * The number of the literal equal to the part of s from "from"
+     * to "to", or -1 if none.
+     */
+    private int lookup(String s, int from, int to) {
+	int mask = literalTable.length - 1;
+	int len = to - from;
+	for (int i = hash(s, from, to) & mask; literalTable[i] != null;
+		i = (i + 1) & mask) {
+	    String lit = literalTable[i];
+	    if (lit.length() == len && s.regionMatches(from, lit, 0, len))
+		return literalTableIds[i];
+	}
+	return -1;
+    }
+
+    private static int hash(String s, int from, int to) {
+	int h = 0;
+	for (int i = from; i < to; i++)
+	    h = 31 * h + s.charAt(i);
+	return h ^ (h >>> 16);
+    }
+
+    /**
+     * Does the line match COPYRIGHT_STRING?
+     */
+    private static boolean isCopyrightLine(String s, int from, int to) {
+	return CheckContext.get().copyrightLine.matches(s, from, to);
+    }
+
+    /**
+     * Does the line match "All rights reserved." as a regular expression?
+     */
+    private static boolean isReservedLine(String s, int from, int to) {
+	if (to - from != RESERVED_LINE.length() + 1 ||
+		!s.startsWith(RESERVED_LINE, from))
+	    return false;
+	// "." matches anything but a line terminator
+	char c = s.charAt(to - 1);
+	return c != '\n' && c != '\r' && c != '\u0085' &&
+	    c != '\u2028' && c != '\u2029';
+    }
+}
@@ -0,0 +1,319 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+/**
+ * The copyright templates for a configuration, read and compiled once
+ * and shared by all the file formats.  A TemplateSet is immutable, so
+ * it can be used by any number of threads checking files at once.
+ */
+
+package org.glassfish.copyright;
+
+import java.io.*;
+import java.util.*;
+import java.util.regex.*;
+
+final class TemplateSet {
+    private static final String DEFAULT_CORRECT = "epl-copyright.txt";
+    private static final String DEFAULT_ALTERNATE = "apache-copyright.txt";
+    private static final String DEFAULT_BSD = "edl-copyright.txt";
+    private static final String SPDX_ID = "SPDX-License-Identifier:";
+
+    // patterns for good copyright headers
+    static final Pattern apat;
+    static final Pattern anpat;
+    static final Pattern oapat;
+
+    // patterns for bad copyright headers, used only to indicate what's wrong
+    static final Pattern sunpat;
+    static final Pattern sunapat;
+    static final Pattern sunanewpat;
+    static final Pattern sunbpat;
+    static final Pattern obpat;
+    static final Pattern cnocepat;
+    static final Pattern ocpat;
+    static final Pattern oc2pat;
+    static final Pattern ocgpat;
+    static final Pattern ocg2pat;
+
+    static {
+	try {
+	    // good patterns
+	    apat = getCopyrightPattern("apacheold-copyright.txt");
+	    anpat = getCopyrightPattern(DEFAULT_ALTERNATE);
+	    oapat = getCopyrightPattern("oracle-apache-copyright.txt");
+
+	    // bad patterns
+	    sunpat = getCopyrightPattern("sun-cddl+gpl+ce-copyright.txt");
+	    sunapat = getCopyrightPattern(
+				    "sun-cddl+gpl+ce+apache-copyright.txt");
+	    sunanewpat = getCopyrightPattern(
+				    "sun-cddl+gpl+ce+apachenew-copyright.txt");
+	    sunbpat = getCopyrightPattern("sun-bsd-copyright.txt");
+	    obpat = getCopyrightPattern("bsd-copyright.txt");
+	    cnocepat = getCopyrightPattern("cddl+gpl-copyright.txt");
+	    ocpat = getCopyrightPattern("cddl-copyright.txt");
+	    oc2pat = getCopyrightPattern("cddl2-copyright.txt");
+	    ocgpat = getCopyrightPattern("cddl+gpl+ce-copyright.txt");
+	    ocg2pat = getCopyrightPattern("cddl+gpl+ce-java.net-copyright.txt");
+	} catch (IOException ex) {
+	    throw new RuntimeException("Copyright resource missing", ex);
+	}
+    }
+
+    final String correctCopyright;
+    final String correctBSDCopyright;
+    final String licensor;	// from the correct template
+    final Pattern cpat;
+    final Pattern bpat;
+    final List<Pattern> acpatlist;
+    final int maxTemplateLength;	// longest template
+    // all the templates, matched at once
+    final TemplateAutomaton automaton;
+    // the good templates, by canonical SPDX expression
+    private final Map<String, Pattern> spdx;
+
+    TemplateSet(Copyright c) {
+	List<Pattern> alts = new ArrayList<Pattern>();
+	int maxlen = 0;
+	try {
+	    if (c.correctTemplate != null) {
+		correctCopyright = getCopyrightText(c.correctTemplate);
+		cpat = getCopyrightPattern(c.correctTemplate);
+		// if using a specified template and no specified alternate,
+		// don't use the default alternate
+	    } else {
+		correctCopyright = getCopyrightText(DEFAULT_CORRECT);
+		cpat = getCopyrightPattern(DEFAULT_CORRECT);
+		if (c.alternateTemplates.isEmpty()) {
+		    // the Apache templates are already compiled
+		    alts.add(anpat);
+		    alts.add(apat);
+		    alts.add(getCopyrightPattern("mitsallings-copyright.txt"));
+		    alts.add(getCopyrightPattern("w3c-copyright.txt"));
+		}
+	    }
+	    for (File alt : c.alternateTemplates) {
+		maxlen = Math.max(maxlen, getCopyrightText(alt).length());
+		alts.add(getCopyrightPattern(alt));
+	    }
+	    if (c.correctBSDTemplate != null) {
+		correctBSDCopyright = getCopyrightText(c.correctBSDTemplate);
+		bpat = getCopyrightPattern(c.correctBSDTemplate);
+	    } else {
+		correctBSDCopyright = getCopyrightText(DEFAULT_BSD);
+		bpat = getCopyrightPattern(DEFAULT_BSD);
+	    }
+	} catch (IOException ex) {
+	    throw new RuntimeException("Can't load copyright template", ex);
+	}
+	acpatlist = Collections.unmodifiableList(alts);
+	maxTemplateLength = Math.max(maxlen,
+	    Math.max(correctCopyright.length(), correctBSDCopyright.length()));
+	licensor = getLicensor(correctCopyright);
+
+	List<Pattern> pats = new ArrayList<Pattern>();
+	pats.add(cpat);
+	pats.addAll(acpatlist);
+	pats.add(bpat);
+	Collections.addAll(pats, apat, anpat, oapat,
+	    sunpat, sunapat, sunanewpat, sunbpat, obpat,
+	    ocpat, oc2pat, ocgpat, ocg2pat, cnocepat);
+	automaton = new TemplateAutomaton(pats);
+
+	// the first good template with each SPDX expression
+	List<Pattern> good = new ArrayList<Pattern>();
+	good.add(cpat);
+	if (!c.normalize)
+	    good.addAll(acpatlist);
+	Collections.addAll(good, bpat, apat, anpat, oapat);
+	Map<String, Pattern> ids = new HashMap<String, Pattern>();
+	for (Pattern pat : good) {
+	    String key = getSpdxExpression(pat);
+	    if (key != null && !ids.containsKey(key))
+		ids.put(key, pat);
+	}
+	spdx = Collections.unmodifiableMap(ids);
+    }
+
+    /**
+     * The good template with the same SPDX-License-Identifier as the
+     * comment, or null if none.  The comment must have exactly one
+     * identifier line, and at least one copyright line.
+     */
+    Pattern spdxTemplate(String comment) {
+	String expr = null;
+	for (int i = comment.indexOf(SPDX_ID); i >= 0;
+		i = comment.indexOf(SPDX_ID, i + 1)) {
+	    if (i > 0 && comment.charAt(i - 1) != '\n')
+		continue;
+	    if (expr != null)
+		return null;		// more than one
+	    int nl = comment.indexOf('\n', i);
+	    expr = comment.substring(i + SPDX_ID.length(),
+				    nl >= 0 ? nl : comment.length());
+	}
+	if (expr == null)
+	    return null;
+	String key = SpdxExpression.canonical(expr);
+	Pattern pat = key != null ? spdx.get(key) : null;
+	if (pat == null || !CheckContext.get().copyrightLine.find(comment))
+	    return null;
+	return pat;
+    }
+
+    /**
+     * The canonical SPDX expression in the template, or null if none.
+     * Each line of the template pattern is quoted, as \Qline\E.
+     */
+    private static String getSpdxExpression(Pattern pat) {
+	String prefix = "\\Q" + SPDX_ID;
+	for (String line : pat.pattern().split("\n")) {
+	    if (line.startsWith(prefix) && line.endsWith("\\E") &&
+		    line.indexOf("\\E") == line.length() - 2)
+		return SpdxExpression.canonical(line.substring(prefix.length(),
+						    line.length() - 2));
+	}
+	return null;
+    }
+
+    /**
+     * Extract the licensor from the template, the text following the
+     * copyright date.
+     */
+    private static String getLicensor(String copyright) {
+	try {
+	    int yyyy = copyright.indexOf("YYYY");
+	    if (yyyy > 0) {
+		int dot = copyright.indexOf(".", yyyy);
+		if (dot < 0)
+		    dot = copyright.indexOf("\n", yyyy);
+		if (dot > 0)
+		    return copyright.substring(yyyy + 5, dot);
+	    }
+	} catch (StringIndexOutOfBoundsException ex) {
+	}
+	return "Oracle and/or its affiliates";
+    }
+
+    /**
+     * Read a copyright regular expression from the named resource.
+     * Assume the pattern is formatted as a Java comment, but canonicalize
+     * the pattern to ignore language-specific comment characters.
+     */
+    private static Pattern getCopyrightPattern(String name) throws IOException {
+	return copyrightToPattern(readCopyright(name, true));
+    }
+
+    /**
+     * Read a copyright regular expression from the file.
+     */
+    private static Pattern getCopyrightPattern(File file) throws IOException {
+	return copyrightToPattern(readCopyright(file, true));
+    }
+
+    private static Pattern copyrightToPattern(String comment) {
+	StringBuilder copyright = new StringBuilder();
+	// ignore stupid NetBeans template text
+	copyright.append(AbstractCopyright.NETBEANS_PATTERN);
+	copyright.append(comment);
+	return Pattern.compile(copyright.toString(), Pattern.MULTILINE);
+    }
+
+    private static String readCopyright(String name, boolean pattern)
+				throws IOException {
+	BufferedReader r = null;
+	try {
+	    InputStream is = Copyright.class.getResourceAsStream(
+				"/META-INF/copyright-templates/" + name);
+	    if (is == null)
+		is = Copyright.class.getResourceAsStream(name);
+	    r = new BufferedReader(new InputStreamReader(is));
+	    return readCopyrightStream(r, pattern);
+	} finally {
+	    if (r != null)
+		r.close();
+	}
+    }
+
+    private static String readCopyright(File file, boolean pattern)
+				throws IOException {
+	BufferedReader r = null;
+	try {
+	    r = new BufferedReader(new FileReader(file));
+	    return readCopyrightStream(r, pattern);
+	} finally {
+	    if (r != null)
+		r.close();
+	}
+    }
+
+    /**
+     * Read a copyright from the BufferedReader.
+     * If pattern is true, convert it to a regular expression pattern.
+     */
+    private static String readCopyrightStream(BufferedReader r, boolean pattern)
+				throws IOException {
+	StringBuilder copyright = new StringBuilder();
+	String line = r.readLine();	// read the "/*" line
+	boolean sawCopyright = false;
+	while ((line = r.readLine()) != null) {
+	    if (line.equals(" */"))	// ending comment line
+		break;
+	    if (line.length() > 2)
+		line = line.substring(3);	// strip " * "
+	    else
+		line = "";			// empty line
+	    if (pattern) {
+		line = Pattern.quote(line);
+		if (line.indexOf("YYYY") >= 0) {
+		    sawCopyright = true;
+		    // replace the template copyright line with a pattern
+		    // that allows multiple copyright lines from anyone
+		    line = AbstractCopyright.COPYRIGHT_LINES;
+		}
+	    }
+	    copyright.append(line).append('\n');
+	}
+	// if no copyright line in the template, allow a copyright
+	// at the beginning
+	if (!sawCopyright && pattern)
+	    copyright.insert(0,
+				AbstractCopyright.OPTIONAL_COPYRIGHT_LINES);
+
+	// strip off one optional trailing blank line, for consistency
+	// with CommonCopyright.readComment.
+	int len = copyright.length();
+	if (len >= 2 && copyright.charAt(len - 1) == '\n' &&
+		copyright.charAt(len - 2) == '\n')
+	    copyright.setLength(len - 1);
+	return copyright.toString();
+    }
+
+    /**
+     * Read the copyright text from the named resource.
+     */
+    private static String getCopyrightText(String name) throws IOException {
+	return readCopyright(name, false);
+    }
+
+    /**
+     * Read the copyright text from the file.
+     */
+    private static String getCopyrightText(File file) throws IOException {
+	return readCopyright(file, false);
+    }
+}
@@ -1,6 +1,6 @@
 /*
  * Copyright (c) 2010, 2018 Oracle and/or its affiliates. All rights reserved.
- * Copyright (c) 2020 Contributors to Eclipse Foundation. All rights reserved.
+ * Copyright (c) 2020, 2026 Contributors to Eclipse Foundation. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -30,12 +30,15 @@ import java.util.regex.*;
 public class TextCopyright extends AbstractCopyright {
     public TextCopyright(Copyright c) {
 	super(c);
+	maxHeaderBytes = Long.MAX_VALUE;	// limited to 100 lines instead
+	checkCommentLength = false;	// always limited to 100 lines
     }
 
     /**
      * Is this a plain text file?
+     * Used for any file not supported by another class.
      */
-    protected boolean supports(File file) {
+    protected boolean supports(File file, HeadBuffer head) {
 	return true;	// XXX - should check for text content
     }
 
@@ -64,6 +67,13 @@ public class TextCopyright extends AbstractCopyright {
 	return comment.toString();
     }
 
+    /**
+     * The templates only need to match the start of the text.
+     */
+    protected boolean matchesPrefix() {
+	return true;
+    }
+
     /**
      * Does the string match the pattern?
      * Since we don't know where the comment text might end,
@@ -71,7 +81,7 @@ public class TextCopyright extends AbstractCopyright {
      * of the text.
      */
     protected boolean matches(Pattern pat, String s) {
-	Matcher m = pat.matcher(s);
+	Matcher m = CheckContext.get().matcher(pat, s);
 	return m.find() && m.start() == 0;
     }
 
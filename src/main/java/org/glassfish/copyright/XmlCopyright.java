@@ -1,6 +1,6 @@
 /*
  * Copyright (c) 2010, 2018 Oracle and/or its affiliates. All rights reserved.
- * Copyright (c) 2020 Contributors to Eclipse Foundation. All rights reserved.
+ * Copyright (c) 2020, 2026 Contributors to Eclipse Foundation. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -34,29 +34,42 @@ public class XmlCopyright extends CommonCopyright {
     }
 
     /**
-     * Is this an XML file?
+     * The extensions of XML files.
      */
-    protected boolean supports(File file) {
-	String fname = file.getName();
-	if (
-		    fname.endsWith(".xml") || fname.endsWith(".xsl") ||
-		    fname.endsWith(".html") || fname.endsWith(".xhtml") ||
-		    fname.endsWith(".htm") ||
-		    fname.endsWith(".dtd") || fname.endsWith(".xsd") ||
-		    fname.endsWith(".wsdl") || fname.endsWith(".inc") ||
-		    fname.endsWith(".jnlp") || fname.endsWith(".tld") ||
-		    fname.endsWith(".xcs") || fname.endsWith(".jsf") ||
-		    fname.endsWith(".hs") || fname.endsWith(".jhm") ||
-		    (fname.equals("build.properties") && startsWith(file, "<"))
-		) {
+    protected String[] getExtensions() {
+	return new String[] {
+	    ".xml", ".xsl", ".html", ".xhtml", ".htm", ".dtd", ".xsd",
+	    ".wsdl", ".inc", ".jnlp", ".tld", ".xcs", ".jsf", ".hs", ".jhm"
+	};
+    }
+
+    /**
+     * Files with these names might be XML files.
+     */
+    protected String[] getFileNames() {
+	return new String[] { "build.properties" };
+    }
+
+    /**
+     * Is this other file an XML file?
+     */
+    protected boolean supports(File file, HeadBuffer head) {
+	if (file.getName().equals("build.properties") && head.startsWith("<"))
 	    return true;
-	}
-	if (startsWith(file, "<?xml"))
+	if (head.startsWith("<?xml"))
 	    return true;
 	return false;
     }
 
-    protected boolean isPreamble(String line) {
+    protected boolean isEnabled() {
+	return c.doXml;
+    }
+
+    protected String getFileType() {
+	return "an XML file";
+    }
+
+    protected boolean isPreamble(CharSequence line) {
 	return startsWith(line, "<?xml ") || startsWith(line, "<!DOCTYPE") ||
 		startsWith(line, "<html") || startsWith(line, "<head>") ||
 		startsWith(line, "<meta");
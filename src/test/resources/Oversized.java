@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2002-2004 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * Generated documentation for property number 1 of the test bean.
+ * Generated documentation for property number 2 of the test bean.
+ * Generated documentation for property number 3 of the test bean.
+ * Generated documentation for property number 4 of the test bean.
+ * Generated documentation for property number 5 of the test bean.
+ * Generated documentation for property number 6 of the test bean.
+ * Generated documentation for property number 7 of the test bean.
+ * Generated documentation for property number 8 of the test bean.
+ * Generated documentation for property number 9 of the test bean.
+ * Generated documentation for property number 10 of the test bean.
+ * Generated documentation for property number 11 of the test bean.
+ * Generated documentation for property number 12 of the test bean.
+ * Generated documentation for property number 13 of the test bean.
+ * Generated documentation for property number 14 of the test bean.
+ * Generated documentation for property number 15 of the test bean.
+ * Generated documentation for property number 16 of the test bean.
+ * Generated documentation for property number 17 of the test bean.
+ * Generated documentation for property number 18 of the test bean.
+ * Generated documentation for property number 19 of the test bean.
+ * Generated documentation for property number 20 of the test bean.
+ * Generated documentation for property number 21 of the test bean.
+ * Generated documentation for property number 22 of the test bean.
+ * Generated documentation for property number 23 of the test bean.
+ * Generated documentation for property number 24 of the test bean.
+ * Generated documentation for property number 25 of the test bean.
+ * Generated documentation for property number 26 of the test bean.
+ * Generated documentation for property number 27 of the test bean.
+ * Generated documentation for property number 28 of the test bean.
+ * Generated documentation for property number 29 of the test bean.
+ * Generated documentation for property number 30 of the test bean.
+ * Generated documentation for property number 31 of the test bean.
+ * Generated documentation for property number 32 of the test bean.
+ * Generated documentation for property number 33 of the test bean.
+ * Generated documentation for property number 34 of the test bean.
+ * Generated documentation for property number 35 of the test bean.
+ * Generated documentation for property number 36 of the test bean.
+ * Generated documentation for property number 37 of the test bean.
+ * Generated documentation for property number 38 of the test bean.
+ * Generated documentation for property number 39 of the test bean.
+ * Generated documentation for property number 40 of the test bean.
+ * Generated documentation for property number 41 of the test bean.
+ * Generated documentation for property number 42 of the test bean.
+ * Generated documentation for property number 43 of the test bean.
+ * Generated documentation for property number 44 of the test bean.
+ * Generated documentation for property number 45 of the test bean.
+ * Generated documentation for property number 46 of the test bean.
+ * Generated documentation for property number 47 of the test bean.
+ * Generated documentation for property number 48 of the test bean.
+ * Generated documentation for property number 49 of the test bean.
+ * Generated documentation for property number 50 of the test bean.
+ * Generated documentation for property number 51 of the test bean.
+ * Generated documentation for property number 52 of the test bean.
+ * Generated documentation for property number 53 of the test bean.
+ * Generated documentation for property number 54 of the test bean.
+ * Generated documentation for property number 55 of the test bean.
+ * Generated documentation for property number 56 of the test bean.
+ * Generated documentation for property number 57 of the test bean.
+ * Generated documentation for property number 58 of the test bean.
+ * Generated documentation for property number 59 of the test bean.
+ * Generated documentation for property number 60 of the test bean.
+ * Generated documentation for property number 61 of the test bean.
+ * Generated documentation for property number 62 of the test bean.
+ * Generated documentation for property number 63 of the test bean.
+ * Generated documentation for property number 64 of the test bean.
+ * Generated documentation for property number 65 of the test bean.
+ * Generated documentation for property number 66 of the test bean.
+ * Generated documentation for property number 67 of the test bean.
+ * Generated documentation for property number 68 of the test bean.
+ * Generated documentation for property number 69 of the test bean.
+ * Generated documentation for property number 70 of the test bean.
+ * Generated documentation for property number 71 of the test bean.
+ * Generated documentation for property number 72 of the test bean.
+ * Generated documentation for property number 73 of the test bean.
+ * Generated documentation for property number 74 of the test bean.
+ * Generated documentation for property number 75 of the test bean.
+ * Generated documentation for property number 76 of the test bean.
+ * Generated documentation for property number 77 of the test bean.
+ * Generated documentation for property number 78 of the test bean.
+ * Generated documentation for property number 79 of the test bean.
+ * Generated documentation for property number 80 of the test bean.
+ * Generated documentation for property number 81 of the test bean.
+ * Generated documentation for property number 82 of the test bean.
+ * Generated documentation for property number 83 of the test bean.
+ * Generated documentation for property number 84 of the test bean.
+ * Generated documentation for property number 85 of the test bean.
+ * Generated documentation for property number 86 of the test bean.
+ * Generated documentation for property number 87 of the test bean.
+ * Generated documentation for property number 88 of the test bean.
+ * Generated documentation for property number 89 of the test bean.
+ * Generated documentation for property number 90 of the test bean.
+ * Generated documentation for property number 91 of the test bean.
+ * Generated documentation for property number 92 of the test bean.
+ * Generated documentation for property number 93 of the test bean.
+ * Generated documentation for property number 94 of the test bean.
+ * Generated documentation for property number 95 of the test bean.
+ * Generated documentation for property number 96 of the test bean.
+ * Generated documentation for property number 97 of the test bean.
+ * Generated documentation for property number 98 of the test bean.
+ * Generated documentation for property number 99 of the test bean.
+ * Generated documentation for property number 100 of the test bean.
+ * Generated documentation for property number 101 of the test bean.
+ * Generated documentation for property number 102 of the test bean.
+ * Generated documentation for property number 103 of the test bean.
+ * Generated documentation for property number 104 of the test bean.
+ * Generated documentation for property number 105 of the test bean.
+ * Generated documentation for property number 106 of the test bean.
+ * Generated documentation for property number 107 of the test bean.
+ * Generated documentation for property number 108 of the test bean.
+ * Generated documentation for property number 109 of the test bean.
+ * Generated documentation for property number 110 of the test bean.
+ * Generated documentation for property number 111 of the test bean.
+ * Generated documentation for property number 112 of the test bean.
+ * Generated documentation for property number 113 of the test bean.
+ * Generated documentation for property number 114 of the test bean.
+ * Generated documentation for property number 115 of the test bean.
+ * Generated documentation for property number 116 of the test bean.
+ * Generated documentation for property number 117 of the test bean.
+ * Generated documentation for property number 118 of the test bean.
+ * Generated documentation for property number 119 of the test bean.
+ * Generated documentation for property number 120 of the test bean.
+ */
+
+package test;
+
+public class Oversized {
+}
@@ -0,0 +1,57 @@
+/*
+ * This is a long comment, but not a copyright header at all.
+ * This is a long comment, but not a copyright header at all.
+ * This is a long comment, but not a copyright header at all.
+ * This is a long comment, but not a copyright header at all.
+ * This is a long comment, but not a copyright header at all.
+ * This is a long comment, but not a copyright header at all.
+ * This is a long comment, but not a copyright header at all.
+ * This is a long comment, but not a copyright header at all.
+ * This is a long comment, but not a copyright header at all.
+ * This is a long comment, but not a copyright header at all.
+ * This is a long comment, but not a copyright header at all.
+ * This is a long comment, but not a copyright header at all.
+ * This is a long comment, but not a copyright header at all.
+ * This is a long comment, but not a copyright header at all.
+ * This is a long comment, but not a copyright header at all.
+ * This is a long comment, but not a copyright header at all.
+ * This is a long comment, but not a copyright header at all.
+ * This is a long comment, but not a copyright header at all.
+ * This is a long comment, but not a copyright header at all.
+ * This is a long comment, but not a copyright header at all.
+ * This is a long comment, but not a copyright header at all.
+ * This is a long comment, but not a copyright header at all.
+ * This is a long comment, but not a copyright header at all.
+ * This is a long comment, but not a copyright header at all.
+ * This is a long comment, but not a copyright header at all.
+ * This is a long comment, but not a copyright header at all.
+ * This is a long comment, but not a copyright header at all.
+ * This is a long comment, but not a copyright header at all.
+ * This is a long comment, but not a copyright header at all.
+ * This is a long comment, but not a copyright header at all.
+ * This is a long comment, but not a copyright header at all.
+ * This is a long comment, but not a copyright header at all.
+ * This is a long comment, but not a copyright header at all.
+ * This is a long comment, but not a copyright header at all.
+ * This is a long comment, but not a copyright header at all.
+ * This is a long comment, but not a copyright header at all.
+ * This is a long comment, but not a copyright header at all.
+ * This is a long comment, but not a copyright header at all.
+ * This is a long comment, but not a copyright header at all.
+ * This is a long comment, but not a copyright header at all.
+ * This is a long comment, but not a copyright header at all.
+ * This is a long comment, but not a copyright header at all.
+ * This is a long comment, but not a copyright header at all.
+ * This is a long comment, but not a copyright header at all.
+ * This is a long comment, but not a copyright header at all.
+ * This is a long comment, but not a copyright header at all.
+ * This is a long comment, but not a copyright header at all.
+ * This is a long comment, but not a copyright header at all.
+ * This is a long comment, but not a copyright header at all.
+ * This is a long comment, but not a copyright header at all.
+ */
+
+package foo;
+
+class OversizedAlternate {
+}